@@ -0,0 +1,392 @@
+/*
+ * ArrayBackedList Class
+ *
+ * This class implements the MyList interface on top of a contiguous, resizable array of elements of type T, where T
+ * extends Item. It is meant for read-heavy workloads: indexed access is constant time and full scans walk memory
+ * sequentially instead of chasing node pointers, which keeps them cache friendly.
+ *
+ * Approach:
+ * - Items are stored in an Object[] that grows by half of its current capacity when full, like java.util.ArrayList,
+ *   so appends are amortized constant time.
+ * - A name->position hash index points at the first item with each name, so get, remove and updateItem by name do
+ *   not scan the array. Removing an item shifts the tail of the array down and fixes the positions it moved.
+ * - Items renamed through Item.setName are re-filed by rename(), which the managers call from their item listeners.
+ *   A lookup that finds a stale entry in a list nobody re-filed rebuilds the index, as in LinkedList.
+ * - The iterator is fail-fast and the print methods match LinkedList, so either backend can be handed to a manager.
+ * - The spliterator splits an index range in half, so parallel streams and parallelFilter divide the work evenly.
+ * - snapshot() runs in constant time: the snapshot shares the array and the name index, and whichever list is
+ *   modified next copies them first (copy-on-write).
+ */
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class ArrayBackedList<T extends Item> implements MyList<T> {
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private Object[] elements; // Backing array, only the first size slots are in use
+    private int size; // Number of elements in the list
+    private int modCount; // Structural modification counter checked by iterators
+    private Map<String, Integer> nameIndex; // Position of the first item for each item name
+    private boolean shared; // True while elements and nameIndex are also referenced by a snapshot
+
+    // Constructor
+    public ArrayBackedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Constructor with an initial capacity, useful when the number of items to load is known
+    public ArrayBackedList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        elements = new Object[initialCapacity];
+        size = 0;
+        nameIndex = new HashMap<>();
+    }
+
+    // Adds a new item to the end of the list
+    @Override
+    public void add(T item) {
+        unshare();
+        ensureCapacity(size + 1);
+        elements[size] = item;
+        nameIndex.putIfAbsent(item.getName(), size);
+        size++;
+        modCount++;
+    }
+
+    // Returns the number of items in the list
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Removes the first item with a name, or exactly the given item
+    @Override
+    public boolean remove(Object identifier) {
+        if (identifier instanceof Item) {
+            return removeExact((Item) identifier);
+        }
+        if (!(identifier instanceof String)) {
+            return false;
+        }
+        int position = findPosition((String) identifier);
+        if (position < 0) {
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+
+    // Removes exactly this item, searching from the first item with its name
+    private boolean removeExact(Item item) {
+        int position = findPosition(item.getName());
+        if (position < 0) {
+            return false;
+        }
+        while (position < size && elements[position] != item) {
+            position++;
+        }
+        if (position == size) {
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+
+    // Retrieves an item by index or by name
+    @Override
+    public T get(Object identifier) {
+        if (identifier instanceof Integer) {
+            int index = (Integer) identifier;
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return elementAt(index);
+        }
+        T item = find(identifier);
+        if (item == null) {
+            throw new NoSuchElementException("No element with identifier: " + identifier);
+        }
+        return item;
+    }
+
+    // Returns the item for a name or index identifier, or null if there is none
+    @Override
+    public T find(Object identifier) {
+        if (identifier instanceof Integer) {
+            int index = (Integer) identifier;
+            return index < 0 || index >= size ? null : elementAt(index);
+        }
+        if (identifier instanceof String) {
+            int position = findPosition((String) identifier);
+            return position < 0 ? null : elementAt(position);
+        }
+        return null;
+    }
+
+    // Method to filter items based on a predicate
+    @Override
+    public ArrayBackedList<T> filter(Predicate<T> predicate) {
+        ArrayBackedList<T> filteredList = new ArrayBackedList<>();
+        for (int i = 0; i < size; i++) {
+            T item = elementAt(i);
+            if (predicate.test(item)) {
+                filteredList.add(item);
+            }
+        }
+        return filteredList;
+    }
+
+    // Filters on the fork/join pool. Ranges are tested in parallel and added to the result in list order.
+    @Override
+    public ArrayBackedList<T> parallelFilter(Predicate<T> predicate) {
+        ArrayBackedList<T> filteredList = new ArrayBackedList<>();
+        parallelStream().filter(predicate).forEachOrdered(filteredList::add);
+        return filteredList;
+    }
+
+    // Replaces the first item with the same name, or appends the item if no such item exists
+    @Override
+    public void updateItem(T updatedItem) {
+        int position = findPosition(updatedItem.getName());
+        if (position < 0) {
+            add(updatedItem);
+        } else {
+            unshare();
+            elements[position] = updatedItem;
+        }
+    }
+
+    // Re-files an item that was renamed from oldName under its current name, so name lookups and updateItem find
+    // it under the new name instead of appending it a second time
+    @Override
+    public void rename(T item, String oldName) {
+        Integer first = nameIndex.get(oldName);
+        if (first == null) {
+            return;
+        }
+        int position = first;
+        while (position < size && elements[position] != item) {
+            position++;
+        }
+        if (position == size) {
+            return; // Not filed under oldName, e.g. reindex() already moved it
+        }
+        unshare();
+        if (position == first) {
+            int next = position + 1;
+            while (next < size && !oldName.equals(elementAt(next).getName())) {
+                next++;
+            }
+            if (next < size) {
+                nameIndex.put(oldName, next);
+            } else {
+                nameIndex.remove(oldName);
+            }
+        }
+        nameIndex.merge(item.getName(), position, Math::min);
+    }
+
+    // Rebuilds the name index from the array, e.g. after items were renamed through Item.setName
+    public void reindex() {
+        unshare();
+        nameIndex.clear();
+        for (int i = 0; i < size; i++) {
+            nameIndex.putIfAbsent(elementAt(i).getName(), i);
+        }
+    }
+
+    // Returns a read-only snapshot that shares this list's storage until either side is modified
+    @Override
+    public MyList<T> snapshot() {
+        ArrayBackedList<T> copy = new ArrayBackedList<>(0);
+        copy.elements = elements;
+        copy.size = size;
+        copy.nameIndex = nameIndex;
+        copy.shared = true;
+        shared = true;
+        return new ReadOnlyList<>(copy);
+    }
+
+    // Returns a fail-fast iterator over the items in list order
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int cursor = 0;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elementAt(cursor++);
+            }
+        };
+    }
+
+    // Returns a spliterator over the index range [0, size) that splits in half
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RangeSpliterator(elements, 0, size, modCount);
+    }
+
+    // Splits by halving its index range. It keeps the array it was created over, so a copy-on-write
+    // after a snapshot does not affect a running traversal.
+    private class RangeSpliterator implements Spliterator<T> {
+        private final Object[] array;
+        private int index;
+        private final int fence;
+        private final int expectedModCount;
+
+        RangeSpliterator(Object[] array, int origin, int fence, int expectedModCount) {
+            this.array = array;
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept((T) array[index++]);
+            checkForComodification();
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; index < fence; index++) {
+                action.accept((T) array[index]);
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator<T> prefix = new RangeSpliterator(array, index, mid, expectedModCount);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public void printAllItems() {
+        for (int i = 0; i < size; i++) {
+            System.out.println(elements[i]);
+        }
+    }
+
+    @Override
+    public void printExpiredItems() {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] instanceof PantryItem) { // Assuming only pantry items can expire
+                PantryItem item = (PantryItem) elements[i];
+                if (item.checkExpiration()) {
+                    System.out.println(item);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) elements[index];
+    }
+
+    // Looks up the first position for a name, rebuilding the index if the entry went stale
+    private int findPosition(String name) {
+        Integer position = nameIndex.get(name);
+        if (position != null && !name.equals(elementAt(position).getName())) {
+            reindex();
+            position = nameIndex.get(name);
+        }
+        return position == null ? -1 : position;
+    }
+
+    // Removes the item at a position, shifts the rest down and fixes the positions that moved
+    private void removeAt(int position) {
+        unshare();
+        String removedName = elementAt(position).getName();
+        int moved = size - position - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, position + 1, elements, position, moved);
+        }
+        elements[--size] = null;
+        modCount++;
+        Integer removedFirst = nameIndex.get(removedName);
+        if (removedFirst != null && removedFirst == position) {
+            nameIndex.remove(removedName);
+        }
+        for (int i = position; i < size; i++) {
+            String name = elementAt(i).getName();
+            Integer first = nameIndex.get(name);
+            if (first == null && name.equals(removedName)) {
+                nameIndex.put(name, i);
+            } else if (first != null && first == i + 1) {
+                nameIndex.put(name, i);
+            }
+        }
+    }
+
+    // Gives this list its own copy of the storage it shares with a snapshot, before the first write
+    private void unshare() {
+        if (shared) {
+            elements = elements.clone();
+            nameIndex = new HashMap<>(nameIndex);
+            shared = false;
+        }
+    }
+
+    // Grows the backing array by half its capacity until it can hold minCapacity items
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= elements.length) {
+            return;
+        }
+        int newCapacity = Math.max(elements.length + (elements.length >> 1), DEFAULT_CAPACITY);
+        if (newCapacity < minCapacity) {
+            newCapacity = minCapacity;
+        }
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * CategoryIndex Class
+ *
+ * This class is a category -> items multimap kept by the item managers, so listing or counting the items of one
+ * category costs O(result) and O(1) instead of a scan of every item. It can also be keyed by another value derived
+ * from the item, such as its match key, by passing a key function to the constructor.
+ *
+ * Approach:
+ * - Each category maps to a LinkedHashMap from a per-registration number to the item, which keeps the items of a
+ *   category in the order they were indexed and makes removal O(1).
+ * - Items are mutable and compare by value, so each indexed item is tracked by identity together with the
+ *   category it was filed under. refresh() moves an item whose key changed, e.g. through Item.setCategory.
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+public class CategoryIndex<T extends Item> {
+    private final Map<String, LinkedHashMap<Long, T>> itemsByCategory = new HashMap<>();
+    private final Map<T, Registration> registrations = new IdentityHashMap<>();
+    private long registrationCount;
+    private final Function<? super T, String> keyOf;
+
+    // The category an item was filed under and its key inside that category
+    private static final class Registration {
+        final String category;
+        final long id;
+
+        Registration(String category, long id) {
+            this.category = category;
+            this.id = id;
+        }
+    }
+
+    // Constructor for an index keyed by category
+    public CategoryIndex() {
+        this(Item::getCategory);
+    }
+
+    // Constructor for an index keyed by the given function of the item
+    public CategoryIndex(Function<? super T, String> keyOf) {
+        this.keyOf = keyOf;
+    }
+
+    // Files an item under its current category
+    public void add(T item) {
+        if (registrations.containsKey(item)) {
+            return;
+        }
+        Registration registration = new Registration(keyOf.apply(item), registrationCount++);
+        registrations.put(item, registration);
+        itemsByCategory.computeIfAbsent(registration.category, category -> new LinkedHashMap<>())
+                .put(registration.id, item);
+    }
+
+    // Removes an item from the category it was filed under
+    public void remove(T item) {
+        Registration registration = registrations.remove(item);
+        if (registration == null) {
+            return;
+        }
+        LinkedHashMap<Long, T> items = itemsByCategory.get(registration.category);
+        items.remove(registration.id);
+        if (items.isEmpty()) {
+            itemsByCategory.remove(registration.category);
+        }
+    }
+
+    // Moves an item whose category may have changed
+    public void refresh(T item) {
+        Registration registration = registrations.get(item);
+        if (registration != null && Objects.equals(registration.category, keyOf.apply(item))) {
+            return;
+        }
+        remove(item);
+        add(item);
+    }
+
+    // Returns the items in a category, in the order they were indexed
+    public MyList<T> getItems(String category) {
+        ArrayBackedList<T> result = new ArrayBackedList<>();
+        LinkedHashMap<Long, T> items = itemsByCategory.get(category);
+        if (items != null) {
+            for (T item : items.values()) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    // Returns the first item filed under a category, or null if there is none
+    public T first(String category) {
+        LinkedHashMap<Long, T> items = itemsByCategory.get(category);
+        return items == null ? null : items.values().iterator().next();
+    }
+
+    // Returns the number of items in a category
+    public int count(String category) {
+        LinkedHashMap<Long, T> items = itemsByCategory.get(category);
+        return items == null ? 0 : items.size();
+    }
+
+    // Returns the categories that currently have items
+    public List<String> getCategories() {
+        return Collections.unmodifiableList(new ArrayList<>(itemsByCategory.keySet()));
+    }
+}
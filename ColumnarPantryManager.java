@@ -0,0 +1,359 @@
+/*
+ * ColumnarPantryManager Class
+ *
+ * This class manages pantry items like PantryManager, but stores them column by column in primitive arrays instead
+ * of one PantryItem object per row. It implements the ItemManager interface, so it can stand in for PantryManager
+ * wherever only ItemManager<PantryItem> is needed, and it is meant for pantries with millions of rows.
+ *
+ * Approach:
+ * - Quantity and expiration date are kept in int[] columns, the date as its epoch day. Dates whose epoch day
+ *   does not fit in an int are rejected rather than truncated.
+ * - Name, category and unit are dictionary-encoded: each column is an int[] of codes into a StringDictionary,
+ *   so repeated categories and units cost one int per row.
+ * - A name->row hash index points at the first row for each name, so getItem, removeItem and updateItem by name
+ *   do not scan the columns. Removing a row shifts the later rows down and keeps insertion order.
+ * - Expiration and quantity scans (countExpired, countQuantityBelow, totalQuantity) read the int columns directly
+ *   and allocate nothing. PantryItem objects are only built when a caller asks for one.
+ * - Items returned by getItem and getItems are detached views: changes to them are stored by passing them back
+ *   through updateItem, which is how InventoryDriver already edits pantry items.
+ * - snapshot() shares the columns with the manager instead of building every row. Appends write past the
+ *   snapshot's rows and keep sharing; the first overwrite or removal copies the columns, as ArrayBackedList does.
+ *   The snapshot builds its PantryItems on first use.
+ */
+import java.io.File;
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+public class ColumnarPantryManager implements ItemManager<PantryItem> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NO_DATE = Integer.MIN_VALUE; // Epoch-day marker for items without an expiration date
+
+    private final StringDictionary names = new StringDictionary();
+    private final StringDictionary categories = new StringDictionary();
+    private final StringDictionary units = new StringDictionary();
+
+    private int[] nameCodes;
+    private int[] categoryCodes;
+    private int[] unitCodes;
+    private int[] quantities;
+    private int[] expirationDays;
+    private int size;
+    private boolean shared; // True while the columns are also referenced by a snapshot
+    private Map<Integer, Integer> rowByName; // Name code -> first row holding that name
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD; // Minimum row count at which filters run in parallel
+
+    // Constructor
+    public ColumnarPantryManager() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Constructor with an initial row capacity, useful before bulk loads
+    public ColumnarPantryManager(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        nameCodes = new int[capacity];
+        categoryCodes = new int[capacity];
+        unitCodes = new int[capacity];
+        quantities = new int[capacity];
+        expirationDays = new int[capacity];
+        rowByName = new HashMap<>();
+    }
+
+    // Appends a pantry item as a new row. Rows past size belong to no snapshot, so shared columns are not copied.
+    @Override
+    public void addItem(PantryItem item) {
+        ensureCapacity(size + 1);
+        writeRow(size, item);
+        rowByName.putIfAbsent(nameCodes[size], size);
+        size++;
+    }
+
+    // Removes the first row with the given name
+    @Override
+    public void removeItem(Object identifier) {
+        int row = findRow(identifier);
+        if (row >= 0) {
+            removeRow(row);
+        }
+    }
+
+    // Returns a PantryItem view of the first row with the given name, or null if there is none
+    @Override
+    public PantryItem getItem(Object identifier) {
+        int row = findRow(identifier);
+        return row < 0 ? null : materialize(row);
+    }
+
+    // Returns PantryItem views of all rows, in insertion order
+    @Override
+    public MyList<PantryItem> getItems() {
+        ArrayBackedList<PantryItem> items = new ArrayBackedList<>(size);
+        for (int row = 0; row < size; row++) {
+            items.add(materialize(row));
+        }
+        return items;
+    }
+
+    // Returns PantryItem views of the rows that match a predicate
+    @Override
+    public MyList<PantryItem> getItems(Predicate<PantryItem> filter) {
+        ArrayBackedList<PantryItem> items = new ArrayBackedList<>();
+        if (size >= parallelThreshold) {
+            IntStream.range(0, size).parallel()
+                    .mapToObj(this::materialize)
+                    .filter(filter)
+                    .forEachOrdered(items::add);
+            return items;
+        }
+        for (int row = 0; row < size; row++) {
+            PantryItem item = materialize(row);
+            if (filter.test(item)) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    // Overwrites the first row with the same name, or appends a new row
+    @Override
+    public void updateItem(PantryItem updatedItem) {
+        int row = findRow(updatedItem.getName());
+        if (row < 0) {
+            addItem(updatedItem);
+        } else {
+            unshare();
+            writeRow(row, updatedItem);
+        }
+    }
+
+    // Returns a read-only view of the rows as they are now, sharing the columns until the next overwrite or removal
+    @Override
+    public MyList<PantryItem> snapshot() {
+        shared = true;
+        return new Snapshot(nameCodes, categoryCodes, unitCodes, quantities, expirationDays, size);
+    }
+
+    // Sets the row count from which getItems(Predicate) tests rows on the fork/join pool
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // Returns the number of rows
+    public int size() {
+        return size;
+    }
+
+    // Builds a PantryItem for a row
+    public PantryItem materialize(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+        return buildItem(nameCodes[row], categoryCodes[row], unitCodes[row], quantities[row], expirationDays[row]);
+    }
+
+    // Builds a PantryItem from the column values of one row
+    private PantryItem buildItem(int nameCode, int categoryCode, int unitCode, int quantity, int day) {
+        return new PantryItem(names.lookup(nameCode), quantity, categories.lookup(categoryCode),
+                units.lookup(unitCode), day == NO_DATE ? null : LocalDate.ofEpochDay(day));
+    }
+
+    // Counts the rows that expired before the given day, scanning only the expiration column
+    public int countExpired(LocalDate today) {
+        int todayDay = epochDay(today);
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int day = expirationDays[row];
+            if (day != NO_DATE && day < todayDay) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Counts the rows whose quantity is below a threshold, scanning only the quantity column
+    public int countQuantityBelow(int threshold) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (quantities[row] < threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Sums the quantity of every row in a category, or 0 if the category is unknown
+    public long totalQuantity(String category) {
+        int code = categories.find(category);
+        if (code < 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if (categoryCodes[row] == code) {
+                total += quantities[row];
+            }
+        }
+        return total;
+    }
+
+    // Prints all pantry items
+    public void printAllItems() {
+        if (size == 0) {
+            System.out.println("There are no items in the list");
+            return;
+        }
+        for (int row = 0; row < size; row++) {
+            System.out.println(materialize(row));
+        }
+    }
+
+    // Prints expired pantry items, building objects only for the rows that are printed
+    public void printExpiredItems() {
+        int todayDay = (int) LocalDate.now().toEpochDay();
+        for (int row = 0; row < size; row++) {
+            int day = expirationDays[row];
+            if (day != NO_DATE && day < todayDay) {
+                System.out.println(materialize(row));
+            }
+        }
+    }
+
+    // Method to save pantry items to a CSV file, in the same layout as PantryManager.saveToCSV
+    public void saveToCSV(String filePath) {
+        try (PrintWriter writer = new PrintWriter(new File(filePath))) {
+            for (int row = 0; row < size; row++) {
+                int day = expirationDays[row];
+                writer.write(String.format("%s,%d,%s,%s,%s\n",
+                    names.lookup(nameCodes[row]),
+                    quantities[row],
+                    units.lookup(unitCodes[row]),
+                    categories.lookup(categoryCodes[row]),
+                    day == NO_DATE ? null : LocalDate.ofEpochDay(day)));
+            }
+            System.out.println("Pantry items successfully saved to CSV: " + filePath);  // Feedback to user
+        } catch (Exception e) {
+            System.out.println("Failed to save pantry items: " + e.getMessage());
+        }
+    }
+
+    // Writes every column of a row from a PantryItem
+    private void writeRow(int row, PantryItem item) {
+        nameCodes[row] = names.encode(item.getName());
+        categoryCodes[row] = categories.encode(item.getCategory());
+        unitCodes[row] = units.encode(item.getUnit());
+        quantities[row] = item.getQuantity();
+        LocalDate expirationDate = item.getExpirationDate();
+        expirationDays[row] = expirationDate == null ? NO_DATE : epochDay(expirationDate);
+    }
+
+    // Returns a date's epoch day as an int, rejecting dates that would be truncated or read back as NO_DATE
+    private static int epochDay(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day <= NO_DATE || day > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Date out of range for the expiration column: " + date);
+        }
+        return (int) day;
+    }
+
+    // Finds the first row for a name identifier, or -1
+    private int findRow(Object identifier) {
+        if (!(identifier instanceof String)) {
+            return -1;
+        }
+        int code = names.find((String) identifier);
+        if (code < 0) {
+            return -1;
+        }
+        Integer row = rowByName.get(code);
+        return row == null ? -1 : row;
+    }
+
+    // Removes a row, shifts the later rows down and fixes the name index for the rows that moved
+    private void removeRow(int row) {
+        unshare();
+        int removedCode = nameCodes[row];
+        int moved = size - row - 1;
+        if (moved > 0) {
+            System.arraycopy(nameCodes, row + 1, nameCodes, row, moved);
+            System.arraycopy(categoryCodes, row + 1, categoryCodes, row, moved);
+            System.arraycopy(unitCodes, row + 1, unitCodes, row, moved);
+            System.arraycopy(quantities, row + 1, quantities, row, moved);
+            System.arraycopy(expirationDays, row + 1, expirationDays, row, moved);
+        }
+        size--;
+        rowByName.remove(removedCode);
+        for (int i = row; i < size; i++) {
+            int code = nameCodes[i];
+            Integer first = rowByName.get(code);
+            if (first == null && code == removedCode) {
+                rowByName.put(code, i);
+            } else if (first != null && first == i + 1) {
+                rowByName.put(code, i);
+            }
+        }
+    }
+
+    // Gives the manager its own copy of the columns it shares with a snapshot, before a row is overwritten
+    private void unshare() {
+        if (shared) {
+            nameCodes = nameCodes.clone();
+            categoryCodes = categoryCodes.clone();
+            unitCodes = unitCodes.clone();
+            quantities = quantities.clone();
+            expirationDays = expirationDays.clone();
+            shared = false;
+        }
+    }
+
+    // Grows every column by half its capacity until it can hold minCapacity rows
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= quantities.length) {
+            return;
+        }
+        int newCapacity = Math.max(quantities.length + (quantities.length >> 1), minCapacity);
+        nameCodes = Arrays.copyOf(nameCodes, newCapacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, newCapacity);
+        unitCodes = Arrays.copyOf(unitCodes, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        expirationDays = Arrays.copyOf(expirationDays, newCapacity);
+    }
+
+    // A read-only view over the columns as they were when snapshot() was called. The dictionaries only ever
+    // gain codes, so the captured codes still look up the same strings. PantryItems are built on first use.
+    private final class Snapshot extends ReadOnlyList<PantryItem> {
+        private final int[] nameCodes;
+        private final int[] categoryCodes;
+        private final int[] unitCodes;
+        private final int[] quantities;
+        private final int[] expirationDays;
+        private final int size;
+        private MyList<PantryItem> contents;
+
+        private Snapshot(int[] nameCodes, int[] categoryCodes, int[] unitCodes, int[] quantities,
+                int[] expirationDays, int size) {
+            this.nameCodes = nameCodes;
+            this.categoryCodes = categoryCodes;
+            this.unitCodes = unitCodes;
+            this.quantities = quantities;
+            this.expirationDays = expirationDays;
+            this.size = size;
+        }
+
+        @Override
+        protected synchronized MyList<PantryItem> delegate() {
+            if (contents == null) {
+                ArrayBackedList<PantryItem> items = new ArrayBackedList<>(size);
+                for (int row = 0; row < size; row++) {
+                    items.add(buildItem(nameCodes[row], categoryCodes[row], unitCodes[row], quantities[row],
+                            expirationDays[row]));
+                }
+                contents = items;
+            }
+            return contents;
+        }
+    }
+}
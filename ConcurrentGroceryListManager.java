@@ -0,0 +1,33 @@
+/*
+ * ConcurrentGroceryListManager Class
+ *
+ * This class is the thread-safe counterpart of GroceryListManager. It keeps grocery items in a
+ * ConcurrentItemManager, so many request threads can add, read, update and remove different items in parallel
+ * without a global lock.
+ *
+ * Approach:
+ * - All keyed operations come from ConcurrentItemManager and are atomic per item name.
+ * - saveToCSV writes the insertion-ordered listing returned by getItems, so no lock is held during file I/O.
+ */
+import java.io.File;
+import java.io.PrintWriter;
+
+public class ConcurrentGroceryListManager extends ConcurrentItemManager<GroceryItem> {
+
+    // Method to save grocery items to a CSV file, in the same layout as GroceryListManager.saveToCSV
+    public void saveToCSV(String filePath) {
+        try (PrintWriter writer = new PrintWriter(new File(filePath))) {
+            for (GroceryItem item : getItems()) {
+                String line = String.format("%s,%s,%d,%s\n",
+                    item.getName(),
+                    item.getCategory(),
+                    item.getQuantityNeeded(),
+                    item.getUnit());
+                writer.write(line);
+            }
+            System.out.println("Grocery List items successfully saved to CSV: " + filePath);  // Feedback to user
+        } catch (Exception e) {
+            System.out.println("Failed to save grocery items: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * ConcurrentItemManager Class
+ *
+ * This abstract class is a thread-safe ItemManager for items keyed by name. It is the base of ConcurrentPantryManager
+ * and ConcurrentGroceryListManager, which are meant to be shared by many request threads without one global lock
+ * around the whole manager.
+ *
+ * Approach:
+ * - Items live in a ConcurrentHashMap keyed by item name. The map locks per hash bin, so addItem, getItem,
+ *   updateItem and removeItem on different names run in parallel, while operations on the same name are atomic and
+ *   take effect in a single total order (linearizable per item).
+ * - Every entry carries a sequence number taken when its name is first added. Listings sort by it, so printing
+ *   and CSV output keep insertion order like the LinkedList-backed managers.
+ * - Names are unique keys: adding an item whose name is already present keeps the existing item, which is the one
+ *   getItem would have returned from the list-backed managers anyway.
+ * - updateItem(name, function) applies a read-modify-write to one item atomically, for callers that would
+ *   otherwise race on get-then-update.
+ * - Every write is stamped with a version from a global clock and keeps the entry it replaced (a removal leaves a
+ *   tombstone), so snapshot() only has to read the clock: the snapshot later sees, for each name, the newest entry
+ *   not newer than its version. Each write trims the entries behind it to the newest one at or below each pinned
+ *   version, so a name never keeps more than one old entry per open snapshot and writes stay bounded no matter how
+ *   long a snapshot stays open. A snapshot that is dropped without being read or closed releases its pin when it
+ *   is garbage collected.
+ */
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+public abstract class ConcurrentItemManager<T extends Item> implements ItemManager<T> {
+    private static final Cleaner CLEANER = Cleaner.create(); // Releases the pins of abandoned snapshots
+    private final ConcurrentMap<String, Entry<T>> items = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong(); // Version of the latest write
+    private final AtomicInteger liveCount = new AtomicInteger();
+    private final ConcurrentSkipListMap<Long, Integer> pins = new ConcurrentSkipListMap<>(); // Pinned version -> open snapshots
+
+    // One version of the item stored under a name. A null item marks a removal.
+    private static final class Entry<T> {
+        final long sequence;
+        final long version;
+        final T item;
+        volatile Entry<T> previous; // The version this entry replaced, while a snapshot may still need it
+
+        Entry(long sequence, long version, T item, Entry<T> previous) {
+            this.sequence = sequence;
+            this.version = version;
+            this.item = item;
+            this.previous = previous;
+        }
+    }
+
+    // A point-in-time view of the manager. Creating it only pins the clock; the items are collected on first
+    // use and the pin on old versions is released right after. close() releases the pin of an unused snapshot,
+    // and a snapshot that becomes unreachable unused has its pin released by the cleaner.
+    public final class Snapshot extends ReadOnlyList<T> implements AutoCloseable {
+        private final long version;
+        private final Cleaner.Cleanable pin; // Runs the unpin at most once
+        private MyList<T> contents;
+
+        private Snapshot(long version) {
+            this.version = version;
+            this.pin = CLEANER.register(this, new Unpin(version));
+        }
+
+        @Override
+        protected synchronized MyList<T> delegate() {
+            if (contents == null) {
+                contents = collect(version, item -> true);
+                pin.clean();
+            }
+            return contents;
+        }
+
+        // Releases the pin if the snapshot was never read
+        @Override
+        public synchronized void close() {
+            if (contents == null) {
+                contents = new ArrayBackedList<>(0);
+                pin.clean();
+            }
+        }
+    }
+
+    // Releases one pin. Kept apart from Snapshot so the cleaner does not keep the snapshot reachable.
+    private final class Unpin implements Runnable {
+        private final long version;
+
+        Unpin(long version) {
+            this.version = version;
+        }
+
+        @Override
+        public void run() {
+            unpin(version);
+        }
+    }
+
+    // Adds an item unless an item with the same name is already present
+    @Override
+    public void addItem(T item) {
+        items.compute(item.getName(), (name, head) -> {
+            if (head != null && head.item != null) {
+                return head;
+            }
+            liveCount.incrementAndGet();
+            return write(new Entry<>(sequence.getAndIncrement(), clock.incrementAndGet(), item, head));
+        });
+    }
+
+    // Removes the item with the given name
+    @Override
+    public void removeItem(Object identifier) {
+        if (!(identifier instanceof String)) {
+            return;
+        }
+        items.computeIfPresent((String) identifier, (name, head) -> {
+            if (head.item == null) {
+                return head;
+            }
+            liveCount.decrementAndGet();
+            return write(new Entry<>(head.sequence, clock.incrementAndGet(), null, head));
+        });
+    }
+
+    // Returns the item with the given name, or null if there is none
+    @Override
+    public T getItem(Object identifier) {
+        if (!(identifier instanceof String)) {
+            return null;
+        }
+        Entry<T> head = items.get(identifier);
+        return head == null ? null : head.item;
+    }
+
+    // Returns all items in insertion order, as of one point in time
+    @Override
+    public MyList<T> getItems() {
+        return getItems(item -> true);
+    }
+
+    // Returns the items that match a predicate, in insertion order, as of one point in time
+    @Override
+    public MyList<T> getItems(Predicate<T> filter) {
+        long pinned = pin();
+        try {
+            return collect(pinned, filter);
+        } finally {
+            unpin(pinned);
+        }
+    }
+
+    // Replaces the item with the same name, or adds it if there is none
+    @Override
+    public void updateItem(T updatedItem) {
+        items.compute(updatedItem.getName(), (name, head) -> {
+            if (head == null || head.item == null) {
+                liveCount.incrementAndGet();
+                return write(new Entry<>(sequence.getAndIncrement(), clock.incrementAndGet(), updatedItem, head));
+            }
+            return write(new Entry<>(head.sequence, clock.incrementAndGet(), updatedItem, head));
+        });
+    }
+
+    // Atomically replaces the item with the given name by update(item). Returns false if there is no such item.
+    // If the function returns null the item is removed.
+    public boolean updateItem(String name, UnaryOperator<T> update) {
+        boolean[] found = new boolean[1];
+        items.computeIfPresent(name, (key, head) -> {
+            if (head.item == null) {
+                return head;
+            }
+            found[0] = true;
+            T updated = update.apply(head.item);
+            if (updated == null) {
+                liveCount.decrementAndGet();
+            }
+            return write(new Entry<>(head.sequence, clock.incrementAndGet(), updated, head));
+        });
+        return found[0];
+    }
+
+    // Returns a read-only, point-in-time view of all items in constant time, without blocking writers
+    @Override
+    public Snapshot snapshot() {
+        return new Snapshot(pin());
+    }
+
+    // Returns the number of items
+    public int size() {
+        return liveCount.get();
+    }
+
+    // Prints all items in insertion order
+    public void printAllItems() {
+        MyList<T> all = getItems();
+        if (all.size() == 0) {
+            System.out.println("There are no items in the list.");
+        } else {
+            all.printAllItems();
+        }
+    }
+
+    // Collects the items visible at a version that match a filter, in insertion order
+    private MyList<T> collect(long version, Predicate<T> filter) {
+        List<Entry<T>> matches = new ArrayList<>();
+        for (Entry<T> head : items.values()) {
+            Entry<T> entry = head;
+            while (entry != null && entry.version > version) {
+                entry = entry.previous;
+            }
+            if (entry != null && entry.item != null && filter.test(entry.item)) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator.comparingLong(entry -> entry.sequence));
+        ArrayBackedList<T> result = new ArrayBackedList<>(matches.size());
+        for (Entry<T> entry : matches) {
+            result.add(entry.item);
+        }
+        return result;
+    }
+
+    // Trims the versions behind a new entry to the ones a pinned snapshot can still see: for each pinned version,
+    // the newest entry not newer than it. Every write trims its chain this way, so the walk is bounded by the number
+    // of open pins. Called inside compute, after the entry's version was taken, so any snapshot with an older
+    // version is already pinned (see pin). Returns null when the entry is a removal nobody can see behind, so the
+    // name leaves the map.
+    private Entry<T> write(Entry<T> entry) {
+        Entry<T> kept = entry;
+        Entry<T> candidate = entry.previous;
+        for (long pinned : pins.headMap(entry.version).descendingKeySet()) {
+            if (candidate == null) {
+                break;
+            }
+            if (kept.version <= pinned) {
+                continue; // The entry kept last is already the newest one this pin can see
+            }
+            while (candidate != null && candidate.version > pinned) {
+                candidate = candidate.previous;
+            }
+            if (candidate == null) {
+                break;
+            }
+            kept.previous = candidate;
+            kept = candidate;
+            candidate = candidate.previous;
+        }
+        kept.previous = null;
+        return entry.item == null && entry.previous == null ? null : entry;
+    }
+
+    // Pins the current version so writers keep the entries a reader at that version needs. The pin only counts
+    // if the clock did not move while it was being registered; otherwise a writer may have trimmed without
+    // seeing it, and the pin is retried at the new version.
+    private long pin() {
+        while (true) {
+            long version = clock.get();
+            pins.merge(version, 1, Integer::sum);
+            if (clock.get() == version) {
+                return version;
+            }
+            unpin(version);
+        }
+    }
+
+    private void unpin(long version) {
+        pins.computeIfPresent(version, (key, count) -> count == 1 ? null : count - 1);
+    }
+}
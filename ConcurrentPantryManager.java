@@ -0,0 +1,41 @@
+/*
+ * ConcurrentPantryManager Class
+ *
+ * This class is the thread-safe counterpart of PantryManager. It keeps pantry items in a ConcurrentItemManager, so
+ * many request threads can add, read, update and remove different items in parallel without a global lock.
+ *
+ * Approach:
+ * - All keyed operations come from ConcurrentItemManager and are atomic per item name.
+ * - printExpiredItems and saveToCSV work on the insertion-ordered listing returned by getItems, so they never hold
+ *   a lock while printing or writing to disk.
+ */
+import java.io.File;
+import java.io.PrintWriter;
+
+public class ConcurrentPantryManager extends ConcurrentItemManager<PantryItem> {
+
+    // Prints all expired PantryItems
+    public void printExpiredItems() {
+        for (PantryItem item : getItems(PantryItem::checkExpiration)) {
+            System.out.println(item);
+        }
+    }
+
+    // Method to save pantry items to a CSV file, in the same layout as PantryManager.saveToCSV
+    public void saveToCSV(String filePath) {
+        try (PrintWriter writer = new PrintWriter(new File(filePath))) {
+            for (PantryItem item : getItems()) {
+                String line = String.format("%s,%d,%s,%s,%s\n",
+                    item.getName(),
+                    item.getQuantity(),
+                    item.getUnit(),
+                    item.getCategory(),
+                    item.getExpirationDate());
+                writer.write(line);
+            }
+            System.out.println("Pantry items successfully saved to CSV: " + filePath);  // Feedback to user
+        } catch (Exception e) {
+            System.out.println("Failed to save pantry items: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * CsvReader Class
+ *
+ * This class reads CSV files record by record straight from a FileChannel, for loading large pantry and grocery
+ * exports. It replaces reading lines with Scanner and splitting them with a regular expression: bytes are read in
+ * large blocks and fields are located in place, so no line String or String[] is built per row, and numbers are
+ * parsed from the bytes without creating a String at all.
+ *
+ * Approach:
+ * - Bytes are read into one large buffer. A record is parsed by recording the start and end of each field in the
+ *   buffer. When a record runs past the end of the buffer, its bytes are moved to the front and the rest is read
+ *   behind them; a record longer than the whole buffer makes the buffer grow.
+ * - Fields may be quoted. A quoted field can contain commas, line breaks and doubled quotes (""), which stand for
+ *   one quote. Records end with \n, \r\n or \r, and a UTF-8 byte order mark at the start of the file is skipped.
+ * - Parsing works on bytes. This is safe for UTF-8 because commas, quotes and line breaks never occur inside a
+ *   multi-byte character; field() decodes the field's bytes as UTF-8.
+ * - readInto maps every record to an item and adds it to an ItemManager. Malformed records are reported and
+ *   skipped, as the old loaders did, instead of stopping the load.
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.function.Function;
+
+public class CsvReader implements AutoCloseable {
+    // Default size of the read buffer
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private byte[] data;
+    private ByteBuffer buffer; // Wraps data for channel reads
+    private int limit; // Number of valid bytes in data
+    private int position; // Next byte to parse
+    private int recordStart; // First byte of the current record; bytes before it may be discarded
+    private int fieldStart; // First byte of the field being parsed
+    private boolean endOfFile;
+    private long recordNumber;
+
+    private int fieldCount;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] escaped = new boolean[16]; // True if the field contains doubled quotes
+
+    // Constructor that opens a file with the default buffer size
+    public CsvReader(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    // Constructor that opens a file with the given initial buffer size
+    public CsvReader(Path path, int bufferSize) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Illegal buffer size: " + bufferSize);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        data = new byte[bufferSize];
+        buffer = ByteBuffer.wrap(data);
+        while (limit < 3 && fill()) {
+            // Read at least enough bytes to recognize a byte order mark
+        }
+        if (limit >= 3 && (data[0] & 0xFF) == 0xEF && (data[1] & 0xFF) == 0xBB && (data[2] & 0xFF) == 0xBF) {
+            position = 3;
+        }
+    }
+
+    // Moves to the next record. Returns false at the end of the file.
+    public boolean nextRecord() throws IOException {
+        fieldCount = 0;
+        recordStart = position;
+        if (position >= limit && !fill()) {
+            return false;
+        }
+        recordNumber++;
+        while (true) {
+            if (position >= limit && !fill()) {
+                addField(position, position, false); // The file ends right after a comma
+                return true;
+            }
+            if (data[position] == '"') {
+                parseQuotedField();
+            } else {
+                fieldStart = position;
+                while ((position < limit || fill()) && !isDelimiter(data[position])) {
+                    position++;
+                }
+                addField(fieldStart, position, false);
+            }
+            if (position >= limit && !fill()) {
+                return true;
+            }
+            byte delimiter = data[position++];
+            if (delimiter == '\r') {
+                if ((position < limit || fill()) && data[position] == '\n') {
+                    position++;
+                }
+                return true;
+            }
+            if (delimiter == '\n') {
+                return true;
+            }
+        }
+    }
+
+    // Parses a quoted field starting at the opening quote and skips anything between the closing quote and the
+    // next delimiter
+    private void parseQuotedField() throws IOException {
+        position++;
+        fieldStart = position;
+        boolean doubledQuotes = false;
+        while (true) {
+            if (position >= limit && !fill()) {
+                addField(fieldStart, position, doubledQuotes); // Unterminated quote, take the rest of the file
+                return;
+            }
+            if (data[position] != '"') {
+                position++;
+                continue;
+            }
+            if (position + 1 >= limit) {
+                fill();
+            }
+            if (position + 1 < limit && data[position + 1] == '"') {
+                doubledQuotes = true;
+                position += 2;
+                continue;
+            }
+            addField(fieldStart, position, doubledQuotes);
+            position++;
+            while ((position < limit || fill()) && !isDelimiter(data[position])) {
+                position++;
+            }
+            return;
+        }
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '\n' || b == '\r';
+    }
+
+    // Records the bounds of a field of the current record
+    private void addField(int start, int end, boolean doubledQuotes) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+            escaped = Arrays.copyOf(escaped, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        escaped[fieldCount] = doubledQuotes;
+        fieldCount++;
+    }
+
+    // Reads more bytes behind the current record, first moving the record to the front of the buffer and growing
+    // the buffer if the record fills all of it. Returns false at the end of the file.
+    private boolean fill() throws IOException {
+        if (endOfFile) {
+            return false;
+        }
+        int shift = recordStart;
+        if (shift > 0) {
+            System.arraycopy(data, shift, data, 0, limit - shift);
+            limit -= shift;
+            position -= shift;
+            fieldStart -= shift;
+            recordStart = 0;
+            for (int i = 0; i < fieldCount; i++) {
+                starts[i] -= shift;
+                ends[i] -= shift;
+            }
+        }
+        if (limit == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+            buffer = ByteBuffer.wrap(data);
+        }
+        buffer.limit(data.length).position(limit);
+        int read = channel.read(buffer);
+        if (read < 0) {
+            endOfFile = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    // Returns the number of fields in the current record
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    // Returns the 1-based number of the current record
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    // Returns true if the current record is an empty line
+    public boolean isBlank() {
+        return fieldCount == 1 && starts[0] == ends[0];
+    }
+
+    // Returns a field of the current record as a String
+    public String field(int index) {
+        checkIndex(index);
+        int start = starts[index];
+        int end = ends[index];
+        if (!escaped[index]) {
+            return new String(data, start, end - start, StandardCharsets.UTF_8);
+        }
+        byte[] unescaped = new byte[end - start];
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            unescaped[length++] = data[i];
+            if (data[i] == '"') {
+                i++; // Skip the second quote of a doubled pair
+            }
+        }
+        return new String(unescaped, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // Parses a field of the current record as an int, ignoring surrounding spaces
+    public int intField(int index) {
+        checkIndex(index);
+        int start = starts[index];
+        int end = ends[index];
+        while (start < end && data[start] == ' ') {
+            start++;
+        }
+        while (end > start && data[end - 1] == ' ') {
+            end--;
+        }
+        boolean negative = start < end && data[start] == '-';
+        int i = negative || start < end && data[start] == '+' ? start + 1 : start;
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + field(index) + "\"");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + field(index) + "\"");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Value out of range: \"" + field(index) + "\"");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range: \"" + field(index) + "\"");
+        }
+        return (int) value;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field: " + index + ", Fields: " + fieldCount);
+        }
+    }
+
+    // Maps every remaining record to an item and adds it to the manager. Blank lines are skipped, and records the
+    // mapper rejects with a missing field, a bad number or a bad date are reported and skipped.
+    // Returns the number of items added.
+    public <T> int readInto(ItemManager<T> manager, Function<CsvReader, T> mapper) throws IOException {
+        int added = 0;
+        while (nextRecord()) {
+            if (isBlank()) {
+                continue;
+            }
+            T item;
+            try {
+                item = mapper.apply(this);
+            } catch (IndexOutOfBoundsException | NumberFormatException | DateTimeException e) {
+                System.err.println("Skipping malformed record " + recordNumber + ": " + e.getMessage());
+                continue;
+            }
+            manager.addItem(item);
+            added++;
+        }
+        return added;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
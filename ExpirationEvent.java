@@ -0,0 +1,46 @@
+/*
+ * ExpirationEvent Class
+ *
+ * This class describes one notification from an ExpirationScheduler: a pantry item either entered its warning
+ * window or expired. Events are immutable and carry the day on which they became due.
+ */
+import java.time.LocalDate;
+
+public class ExpirationEvent {
+    // Kinds of events the scheduler emits
+    public enum Type {
+        WARNING, // The item expires within the scheduler's warning window
+        EXPIRED  // The item's expiration date has passed
+    }
+
+    private final Type type;
+    private final PantryItem item;
+    private final LocalDate dueDate;
+
+    // Constructor
+    public ExpirationEvent(Type type, PantryItem item, LocalDate dueDate) {
+        this.type = type;
+        this.item = item;
+        this.dueDate = dueDate;
+    }
+
+    // Returns whether this is a warning or an expiration
+    public Type getType() {
+        return type;
+    }
+
+    // Returns the pantry item the event is about
+    public PantryItem getItem() {
+        return item;
+    }
+
+    // Returns the day on which the event became due
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpirationEvent{type=" + type + ", item=" + item.getName() + ", dueDate=" + dueDate + "}";
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * ExpirationIndex Class
+ *
+ * This class keeps pantry items sorted by expiration date so PantryManager can answer "what has expired",
+ * "what expires between two dates" and "what expires next" without scanning the whole pantry. Each query costs
+ * O(log n) to find its starting point plus the number of items it returns.
+ *
+ * Approach:
+ * - Items are stored in a TreeMap keyed by (expiration epoch day, name, insertion number). The order is the one
+ *   PantryItem.compareTo defines, with names breaking ties between items that expire on the same day and the
+ *   insertion number keeping items with the same name and date apart.
+ * - PantryItem is mutable, so the key each item was indexed under is remembered in an IdentityHashMap. remove()
+ *   and refresh() find the old tree entry through it even after setExpirationDate or setName changed the item.
+ * - Items without an expiration date never expire and are not indexed.
+ * - Every query takes the reference day as a parameter, so callers read the clock once per query.
+ */
+import java.time.LocalDate;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class ExpirationIndex {
+    private final TreeMap<Key, PantryItem> byExpiration = new TreeMap<>();
+    private final Map<PantryItem, Key> keys = new IdentityHashMap<>();
+    private long insertions;
+
+    // Position of an item in the index, captured when the item is indexed
+    private static final class Key implements Comparable<Key> {
+        final long day;
+        final String name;
+        final long insertion;
+
+        Key(long day, String name, long insertion) {
+            this.day = day;
+            this.name = name;
+            this.insertion = insertion;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int result = Long.compare(day, other.day);
+            if (result != 0) {
+                return result;
+            }
+            if (name != other.name) {
+                if (name == null) {
+                    return -1;
+                }
+                if (other.name == null) {
+                    return 1;
+                }
+                result = name.compareTo(other.name);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return Long.compare(insertion, other.insertion);
+        }
+    }
+
+    // Indexes an item under its current expiration date and name
+    public void add(PantryItem item) {
+        if (item.getExpirationDate() == null || keys.containsKey(item)) {
+            return;
+        }
+        Key key = new Key(item.getExpirationDate().toEpochDay(), item.getName(), insertions++);
+        keys.put(item, key);
+        byExpiration.put(key, item);
+    }
+
+    // Removes an item, using the key it was indexed under
+    public void remove(PantryItem item) {
+        Key key = keys.remove(item);
+        if (key != null) {
+            byExpiration.remove(key);
+        }
+    }
+
+    // Re-indexes an item whose expiration date or name may have changed
+    public void refresh(PantryItem item) {
+        remove(item);
+        add(item);
+    }
+
+    // Removes every item
+    public void clear() {
+        byExpiration.clear();
+        keys.clear();
+    }
+
+    // Returns the items that expired before today, soonest first
+    public MyList<PantryItem> expired(LocalDate today) {
+        return collect(byExpiration.headMap(lowest(today.toEpochDay()), false), Integer.MAX_VALUE);
+    }
+
+    // Returns the items expiring between from and to (both inclusive), soonest first
+    public MyList<PantryItem> expiringBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return new ArrayBackedList<>(0);
+        }
+        return collect(byExpiration.subMap(lowest(from.toEpochDay()), true,
+                lowest(to.toEpochDay() + 1), false), Integer.MAX_VALUE);
+    }
+
+    // Counts the items expiring between from and to (both inclusive), stopping once the count reaches cap
+    public int countBetween(LocalDate from, LocalDate to, int cap) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        int count = 0;
+        for (PantryItem item : byExpiration.subMap(lowest(from.toEpochDay()), true,
+                lowest(to.toEpochDay() + 1), false).values()) {
+            if (++count >= cap) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    // Returns up to k items that have not expired as of today, soonest first
+    public MyList<PantryItem> nextToExpire(LocalDate today, int k) {
+        return collect(byExpiration.tailMap(lowest(today.toEpochDay()), true), k);
+    }
+
+    // Returns the number of indexed items
+    public int size() {
+        return byExpiration.size();
+    }
+
+    // A key that sorts before every real key on the given day
+    private static Key lowest(long day) {
+        return new Key(day, null, Long.MIN_VALUE);
+    }
+
+    private static MyList<PantryItem> collect(NavigableMap<Key, PantryItem> range, int limit) {
+        ArrayBackedList<PantryItem> result = new ArrayBackedList<>();
+        for (PantryItem item : range.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(item);
+        }
+        return result;
+    }
+}
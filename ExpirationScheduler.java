@@ -0,0 +1,234 @@
+/*
+ * ExpirationScheduler Class
+ *
+ * This class pushes expiration events instead of making callers poll the pantry. Pantry items are scheduled by their
+ * expiration date, and every call to advanceTo(today) notifies the listeners about the items that entered their
+ * warning window or expired since the previous call. The work done per call grows with the number of events
+ * fired and the number of days advanced, not with the size of the pantry.
+ *
+ * Approach:
+ * - Timers live in a hierarchical timing wheel with one-day ticks: 4 levels of 64 slots each, so level 0 holds the
+ *   next 64 days, level 1 the next 64 * 64 days and so on. Each slot is a doubly linked list, so scheduling and
+ *   cancelling a timer are O(1).
+ * - When the day counter crosses a 64-day boundary, the matching slot of the next level is cascaded: its timers are
+ *   re-inserted closer to the present. Timers beyond the top level's range are parked at its far end and cascaded
+ *   down until they fit.
+ * - Each item has up to two timers: a WARNING timer warningDays before its expiration date and an EXPIRED timer
+ *   on the day after it, matching PantryItem.checkExpiration. An item scheduled after either day has passed gets
+ *   that event on the next advanceTo. An item that is already expired only gets the EXPIRED event.
+ * - schedule() replaces any timers an item already has, so it is also how a changed expiration date is
+ *   rescheduled. PantryManager does this from updateItem and from its listener on setExpirationDate.
+ * - Listeners are called on the thread that calls advanceTo, after the wheel has been updated, so they may
+ *   schedule or cancel items themselves. The class is not thread-safe.
+ */
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class ExpirationScheduler {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1; // Furthest day the wheels can hold
+    private static final int DUE = -1; // Level of timers waiting for the next advanceTo
+
+    private final Timer[][] wheels = new Timer[LEVELS][WHEEL_SIZE]; // Head of each slot's timer list
+    private Timer due; // Head of the list of timers that are already due
+    private final Map<PantryItem, Timer[]> timersByItem = new IdentityHashMap<>(); // [warning, expired]
+    private final List<Consumer<ExpirationEvent>> listeners = new ArrayList<>();
+    private final int warningDays;
+    private long currentDay; // Last day processed, as an epoch day
+
+    // One scheduled event, linked into a wheel slot or the due list
+    private static final class Timer {
+        final PantryItem item;
+        final ExpirationEvent.Type type;
+        final long fireDay;
+        Timer prev;
+        Timer next;
+        int level;
+        int slot;
+
+        Timer(PantryItem item, ExpirationEvent.Type type, long fireDay) {
+            this.item = item;
+            this.type = type;
+            this.fireDay = fireDay;
+        }
+    }
+
+    // Constructor. Items are warned warningDays before they expire; 0 turns warnings off.
+    public ExpirationScheduler(LocalDate today, int warningDays) {
+        if (warningDays < 0) {
+            throw new IllegalArgumentException("warningDays must not be negative: " + warningDays);
+        }
+        this.currentDay = today.toEpochDay();
+        this.warningDays = warningDays;
+    }
+
+    // Registers a listener for the events fired by advanceTo
+    public void addListener(Consumer<ExpirationEvent> listener) {
+        listeners.add(listener);
+    }
+
+    // Schedules the events for an item, replacing any it already has
+    public void schedule(PantryItem item) {
+        cancel(item);
+        if (item.getExpirationDate() == null) {
+            return;
+        }
+        long expirationDay = item.getExpirationDate().toEpochDay();
+        Timer[] timers = new Timer[2];
+        timers[1] = new Timer(item, ExpirationEvent.Type.EXPIRED, expirationDay + 1);
+        insert(timers[1]);
+        if (warningDays > 0 && expirationDay + 1 > currentDay) {
+            timers[0] = new Timer(item, ExpirationEvent.Type.WARNING, expirationDay - warningDays);
+            insert(timers[0]);
+        }
+        timersByItem.put(item, timers);
+    }
+
+    // Cancels the pending events of an item
+    public void cancel(PantryItem item) {
+        Timer[] timers = timersByItem.remove(item);
+        if (timers == null) {
+            return;
+        }
+        for (Timer timer : timers) {
+            if (timer != null) {
+                unlink(timer);
+            }
+        }
+    }
+
+    // Returns true if the item still has a pending event
+    public boolean isScheduled(PantryItem item) {
+        return timersByItem.containsKey(item);
+    }
+
+    // Processes every day up to and including today and notifies the listeners. Returns the number of events.
+    public int advanceTo(LocalDate today) {
+        List<ExpirationEvent> events = new ArrayList<>();
+        drainDue(events);
+        long target = today.toEpochDay();
+        if (timersByItem.isEmpty() && target > currentDay) {
+            currentDay = target;
+        }
+        while (currentDay < target) {
+            tick(events);
+        }
+        for (ExpirationEvent event : events) {
+            for (Consumer<ExpirationEvent> listener : listeners) {
+                listener.accept(event);
+            }
+        }
+        return events.size();
+    }
+
+    // Moves to the next day: cascades higher levels at their boundaries, then fires the day's level-0 slot
+    private void tick(List<ExpirationEvent> events) {
+        currentDay++;
+        for (int level = 1; level < LEVELS; level++) {
+            if (((currentDay >> (WHEEL_BITS * (level - 1))) & WHEEL_MASK) != 0) {
+                break;
+            }
+            Timer timer = detach(level, (int) ((currentDay >> (WHEEL_BITS * level)) & WHEEL_MASK));
+            while (timer != null) {
+                Timer next = timer.next;
+                insert(timer);
+                timer = next;
+            }
+        }
+        Timer timer = detach(0, (int) (currentDay & WHEEL_MASK));
+        while (timer != null) {
+            Timer next = timer.next;
+            if (timer.fireDay <= currentDay) {
+                fire(timer, events);
+            } else {
+                insert(timer);
+            }
+            timer = next;
+        }
+        drainDue(events); // Timers cascaded onto today's boundary land on the due list
+    }
+
+    // Fires every timer on the due list
+    private void drainDue(List<ExpirationEvent> events) {
+        Timer timer = due;
+        due = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            fire(timer, events);
+            timer = next;
+        }
+    }
+
+    // Records the event of a timer that left the wheel and forgets the timer
+    private void fire(Timer timer, List<ExpirationEvent> events) {
+        Timer[] timers = timersByItem.get(timer.item);
+        if (timers != null) {
+            int index = timer.type == ExpirationEvent.Type.WARNING ? 0 : 1;
+            if (timers[index] == timer) {
+                timers[index] = null;
+            }
+            if (timers[0] == null && timers[1] == null) {
+                timersByItem.remove(timer.item);
+            }
+        }
+        events.add(new ExpirationEvent(timer.type, timer.item, LocalDate.ofEpochDay(timer.fireDay)));
+    }
+
+    // Links a timer into the due list or the wheel slot that matches its distance from today
+    private void insert(Timer timer) {
+        long delta = timer.fireDay - currentDay;
+        timer.prev = null;
+        if (delta <= 0) {
+            timer.level = DUE;
+            timer.next = due;
+            if (due != null) {
+                due.prev = timer;
+            }
+            due = timer;
+            return;
+        }
+        long placement = delta > MAX_DELTA ? currentDay + MAX_DELTA : timer.fireDay;
+        int level = 0;
+        while (level < LEVELS - 1 && placement - currentDay >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((placement >> (WHEEL_BITS * level)) & WHEEL_MASK);
+        timer.level = level;
+        timer.slot = slot;
+        timer.next = wheels[level][slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        wheels[level][slot] = timer;
+    }
+
+    // Removes a timer from whichever list it is in
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else if (timer.level == DUE) {
+            due = timer.next;
+        } else {
+            wheels[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    // Empties a slot and returns its former list
+    private Timer detach(int level, int slot) {
+        Timer head = wheels[level][slot];
+        wheels[level][slot] = null;
+        return head;
+    }
+}
@@ -17,6 +17,9 @@ import java.util.Objects;
 
 //ADT Principle: Encapsulates grocery item data and behavior
 public class GroceryItem extends Item implements Comparable<GroceryItem>{
+    //Property name passed to ItemListener.itemChanged
+    public static final String QUANTITY_NEEDED = "quantityNeeded";
+    
     private int quantityNeeded;
 
     //Constructor
@@ -32,7 +35,9 @@ public class GroceryItem extends Item implements Comparable<GroceryItem>{
     
     //setter
     public void setQuantityNeeded(int quantityNeeded) {
+        int oldQuantity = this.quantityNeeded;
         this.quantityNeeded = quantityNeeded;
+        fireChanged(QUANTITY_NEEDED, oldQuantity);
     }
 
     // Compares this grocery item with another based on the quantity needed
@@ -6,35 +6,137 @@
  * it includes functionality to print all items and save them to a CSV file for data persistence.
  *
  * Approach:
- * - Uses a LinkedList to manage GroceryItem objects dynamically, allowing for efficient manipulation of the list.
+ * - Uses a MyList to manage GroceryItem objects dynamically, a LinkedList by default or any backend chosen through
+ *   the constructor (see ListBackend), allowing for efficient manipulation of the list.
  * - Provides methods to add items to the list, remove items by identifier, and retrieve items either individually
  *   or as a filtered list based on specified conditions.
  * - Supports updating item details and printing the entire list of grocery items for review.
  * - Implements a method to save the grocery list to a CSV file, facilitating easy data export and storage.
+ * - A PrefixIndex over item names backs autocomplete() and name-prefix queries, and follows Item.setName.
+ * - query(ItemQuery) runs structured queries through a QueryPlanner over the name, name-prefix and category indexes;
+ *   explain() shows the chosen access path.
+ *   The name paths read a CategoryIndex keyed by name, so they return every item with a name, like a full scan.
+ * - In merge-on-add mode (setMergeOnAdd) items are keyed by normalized name and unit: adding an item that is
+ *   already listed adds to its quantityNeeded, so the list holds one entry per distinct item. A second index on
+ *   that key makes getItem, decrementItem and removeItem by name and unit hash lookups; removal is constant time
+ *   on the LinkedList backend.
+ * - Keeps a CategoryIndex so category listings and counts do not scan the list. The manager listens to its items,
+ *   so Item.setCategory keeps the index current.
  */
 import java.io.PrintWriter;
+import java.util.List;
 import java.util.function.Predicate;
 import java.io.File;
 
 
 public class GroceryListManager implements ItemManager<GroceryItem> {
-    private LinkedList<GroceryItem> groceryList = new LinkedList<>();
+    private MyList<GroceryItem> groceryList;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD; // Minimum size at which filters run in parallel
+    private CategoryIndex<GroceryItem> categoryIndex = new CategoryIndex<>(); // Items grouped by category
+    private CategoryIndex<GroceryItem> mergeIndex = new CategoryIndex<>(GroceryListManager::mergeKey); // By name+unit
+    private boolean mergeOnAdd; // If true, adding an item already on the list raises its quantity instead
+    private PrefixIndex nameCompletions = new PrefixIndex(); // Item names for type-ahead search
+    private CategoryIndex<GroceryItem> nameIndex = new CategoryIndex<>(Item::getName); // Every item under each name
+    private final ItemListener itemListener = this::itemChanged; // Registered on every item in the list
+    private final QueryPlanner<GroceryItem> queryPlanner = createQueryPlanner();
 
  // Constructor initializes the grocery list
     public GroceryListManager() {
-        groceryList = new LinkedList<>();
+        this(ListBackend.LINKED);
     }
     
-    // Adds a GroceryItem to the list
+    // Constructor that builds the grocery list on the chosen list backend
+    public GroceryListManager(ListBackend backend) {
+        this(backend.<GroceryItem>create());
+    }
+    
+    // Constructor that uses the given, empty list as the backing store
+    public GroceryListManager(MyList<GroceryItem> backingList) {
+        groceryList = backingList;
+        for (GroceryItem item : groceryList) {
+            track(item);
+        }
+    }
+    
+    // Adds a GroceryItem to the list. In merge-on-add mode an item with the same normalized name and unit
+    // that is already on the list gets the new quantity added instead.
     @Override
     public void addItem(GroceryItem item) {
+        if (mergeOnAdd) {
+            GroceryItem existing = mergeIndex.first(mergeKey(item));
+            if (existing != null && existing != item) {
+                existing.setQuantityNeeded(existing.getQuantityNeeded() + item.getQuantityNeeded());
+                return;
+            }
+        }
         groceryList.add(item);
+        track(item);
+    }
+    
+    // Turns merge-on-add mode on or off. Items added before it was turned on are not merged retroactively.
+    public void setMergeOnAdd(boolean mergeOnAdd) {
+        this.mergeOnAdd = mergeOnAdd;
+    }
+    
+    // Returns the item with this name and unit, compared after normalization ("Eggs" finds "egg"), or null
+    public GroceryItem getItem(String name, String unit) {
+        return mergeIndex.first(mergeKey(name, unit));
+    }
+    
+    // Lowers the quantity needed of the item with this name and unit, removing it when nothing is left.
+    // Returns the quantity still needed.
+    public int decrementItem(String name, String unit, int amount) {
+        GroceryItem item = getItem(name, unit);
+        if (item == null) {
+            return 0;
+        }
+        int remaining = item.getQuantityNeeded() - amount;
+        if (remaining <= 0) {
+            removeExact(item);
+            return 0;
+        }
+        item.setQuantityNeeded(remaining);
+        return remaining;
+    }
+    
+    // Removes the item with this name and unit, leaving items with the same name in other units
+    public boolean removeItem(String name, String unit) {
+        GroceryItem item = getItem(name, unit);
+        return item != null && removeExact(item);
+    }
+    
+    // Removes exactly this item from the list
+    private boolean removeExact(GroceryItem item) {
+        if (!groceryList.remove(item)) {
+            return false;
+        }
+        untrack(item);
+        return true;
+    }
+    
+    // The key items are merged on: the normalized name and the unit's canonical symbol
+    private static String mergeKey(GroceryItem item) {
+        return item.getMatchKey() + '\u0000' + item.getMeasure().getSymbol();
+    }
+    
+    private static String mergeKey(String name, String unit) {
+        return MatchKey.of(name) + '\u0000' + UnitRegistry.lookup(unit).getSymbol();
+    }
+    
+    // Adds a batch of GroceryItems, e.g. the grocery delta of a MealPlan
+    public void addItems(Iterable<? extends GroceryItem> items) {
+        for (GroceryItem item : items) {
+            addItem(item);
+        }
     }
 
     // Removes a GroceryItem from the list by identifier
     @Override
     public void removeItem(Object identifier) {
-        groceryList.remove(identifier);
+        GroceryItem item = groceryList.find(identifier);
+        if (item != null && groceryList.remove(identifier)) {
+            untrack(item);
+        }
     }
 
     // Retrieves a GroceryItem from the list by identifier
@@ -57,13 +159,122 @@ public class GroceryListManager implements ItemManager<GroceryItem> {
     // Retrieves GroceryItems that match a specific predicate
     @Override
     public MyList<GroceryItem> getItems(Predicate<GroceryItem> filter) {
+        if (groceryList.size() >= parallelThreshold) {
+            return groceryList.parallelFilter(filter);
+        }
         return groceryList.filter(filter);
     }
+    
+    // Sets the size from which getItems(Predicate) tests items on the fork/join pool
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
 
     // Updates an existing GroceryItem in the list
     @Override
     public void updateItem(GroceryItem updatedItem) {
+        GroceryItem previous = groceryList.find(updatedItem.getName());
         groceryList.updateItem(updatedItem);
+        if (previous != null) {
+            untrack(previous);
+        }
+        track(updatedItem);
+    }
+    
+    // Returns up to k item names starting with prefix (ignoring case), in alphabetical order
+    public List<String> autocomplete(String prefix, int k) {
+        return nameCompletions.complete(prefix, k);
+    }
+    
+    // Returns the items in a category, in the order they were added
+    public MyList<GroceryItem> getItemsByCategory(String category) {
+        return categoryIndex.getItems(category);
+    }
+    
+    // Returns the number of items in a category
+    public int countByCategory(String category) {
+        return categoryIndex.count(category);
+    }
+    
+    // Returns the categories that currently have items
+    public List<String> getCategories() {
+        return categoryIndex.getCategories();
+    }
+    
+    // Runs a structured query through the most selective index that applies
+    public MyList<GroceryItem> query(ItemQuery query) {
+        return queryPlanner.plan(query).execute();
+    }
+    
+    // Describes the access path and residual filter query() would use
+    public String explain(ItemQuery query) {
+        return queryPlanner.plan(query).explain();
+    }
+    
+    // Registers the name, name-prefix and category indexes as access paths for structured queries
+    private QueryPlanner<GroceryItem> createQueryPlanner() {
+        QueryPlanner<GroceryItem> planner = new QueryPlanner<>(() -> groceryList, GroceryItem::getQuantityNeeded);
+        planner.addAccessPath(new QueryPlanner.AccessPath<GroceryItem>() {
+            public String name() { return "name-index"; }
+            public ItemQuery.Field field() { return ItemQuery.Field.NAME; }
+            public int estimate(ItemQuery query, int cap) { return nameIndex.count(query.getName()); }
+            public Iterable<GroceryItem> candidates(ItemQuery query) { return nameIndex.getItems(query.getName()); }
+        });
+        planner.addAccessPath(new QueryPlanner.AccessPath<GroceryItem>() {
+            public String name() { return "name-prefix-index"; }
+            public ItemQuery.Field field() { return ItemQuery.Field.NAME_PREFIX; }
+            public int estimate(ItemQuery query, int cap) { return nameCompletions.count(query.getNamePrefix()); }
+            public Iterable<GroceryItem> candidates(ItemQuery query) {
+                MyList<GroceryItem> items = new ArrayBackedList<>();
+                for (String name : nameCompletions.complete(query.getNamePrefix(), Integer.MAX_VALUE)) {
+                    for (GroceryItem item : nameIndex.getItems(name)) {
+                        items.add(item);
+                    }
+                }
+                return items;
+            }
+        });
+        planner.addAccessPath(new QueryPlanner.AccessPath<GroceryItem>() {
+            public String name() { return "category-index"; }
+            public ItemQuery.Field field() { return ItemQuery.Field.CATEGORY; }
+            public int estimate(ItemQuery query, int cap) { return categoryIndex.count(query.getCategory()); }
+            public Iterable<GroceryItem> candidates(ItemQuery query) { return categoryIndex.getItems(query.getCategory()); }
+        });
+        return planner;
+    }
+    
+    // Starts keeping the category index current for an item
+    private void track(GroceryItem item) {
+        item.removeListener(itemListener);
+        item.addListener(itemListener);
+        categoryIndex.add(item);
+        mergeIndex.add(item);
+        nameCompletions.add(item.getName());
+        nameIndex.add(item);
+    }
+    
+    // Stops tracking an item that left the list
+    private void untrack(GroceryItem item) {
+        item.removeListener(itemListener);
+        categoryIndex.remove(item);
+        mergeIndex.remove(item);
+        nameCompletions.remove(item.getName());
+        nameIndex.remove(item);
+    }
+    
+    // Called when an item in the list is changed through its setters
+    private void itemChanged(Item item, String property, Object oldValue) {
+        if (Item.CATEGORY.equals(property)) {
+            categoryIndex.refresh((GroceryItem) item);
+        }
+        if (Item.NAME.equals(property)) {
+            groceryList.rename((GroceryItem) item, (String) oldValue);
+            nameCompletions.rename((String) oldValue, item.getName());
+            nameIndex.refresh((GroceryItem) item);
+        }
+        if (Item.NAME.equals(property) || Item.UNIT.equals(property)) {
+            mergeIndex.refresh((GroceryItem) item);
+        }
     }
     
     // Prints all GroceryItems
@@ -78,9 +289,7 @@ public class GroceryListManager implements ItemManager<GroceryItem> {
     // Method to save grocery items to a CSV file
     public void saveToCSV(String filePath) {
         try (PrintWriter writer = new PrintWriter(new File(filePath))) {
-            MyList<GroceryItem> allItems = getAllItems();
-            for (int i = 0; i < allItems.size(); i++) {
-                GroceryItem item = allItems.get(i);
+            for (GroceryItem item : snapshot()) {
                 String line = String.format("%s,%s,%d,%s\n",
                     item.getName(),
                     item.getCategory(),
@@ -8,6 +8,8 @@
  * Approach:
  * - The Ingredient class extends Item to utilize common item properties while focusing on the specific needs of
  *   culinary ingredients such as quantity measurement.
+ * - The quantity is also kept in base units (see UnitRegistry), so it can be compared with pantry stock held in
+ *   another unit of the same dimension.
  * - It implements the Comparable interface to allow ingredients to be sorted based on their quantity. This can
  *   be useful in inventory management systems where ingredients need to be organized by quantity.
  * - Overrides equals and hashCode methods to ensure correct behavior in collections that rely on Java's Object
@@ -20,17 +22,37 @@ import java.util.Objects;
 //ADT Principle: Encapsulates ingredient data
 public class Ingredient extends Item implements Comparable<Ingredient>{
     private int quantity;
+    private long baseQuantity; // quantity in base units of its dimension
 
     // Constructor initializes the ingredient with its properties
     public Ingredient(String name, String category, int quantity, String unit) {
         super(name, category, unit);
         this.quantity = quantity;
+        this.baseQuantity = getMeasure().toBase(quantity);
+    }
+    
+    // Constructor for ingredients materialized from IngredientCatalog, whose values are already normalized
+    Ingredient(String name, String category, int quantity, String unit, String matchKey, UnitRegistry.Unit measure) {
+        super(name, category, unit, matchKey, measure);
+        this.quantity = quantity;
+        this.baseQuantity = measure.toBase(quantity);
     }
     
     // Returns the quantity of the ingredient
     public int getQuantity() {
     	return quantity;
     }
+    
+    // Returns the quantity in base units of its dimension, see UnitRegistry
+    public long getBaseQuantity() {
+    	return baseQuantity;
+    }
+    
+    // Recomputes the base quantity after the unit changed
+    @Override
+    protected void unitChanged() {
+    	baseQuantity = getMeasure().toBase(quantity);
+    }
 	
     // Compares this ingredient with another based on quantity
 	@Override 
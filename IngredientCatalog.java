@@ -0,0 +1,137 @@
+/*
+ * IngredientCatalog Class
+ *
+ * This class is a shared catalog of ingredient definitions. Each distinct (name, category, unit) combination is
+ * stored once and gets a dense int id, so recipes can keep their ingredients as packed (id, quantity) pairs
+ * instead of one Ingredient object with its own strings per recipe line. "Salt, Spices, g" used by tens of
+ * thousands of recipes is one catalog entry.
+ *
+ * Approach:
+ * - A ConcurrentHashMap maps each definition to its id, and an array maps ids back to the definition. New
+ *   definitions are appended under a lock and the array is published through a volatile field, so ids can be
+ *   read from any thread without locking.
+ * - Each definition precomputes what matching needs: the match key (see MatchKey), the resolved unit (see
+ *   UnitRegistry) and a dense id per distinct match key, shared by definitions that only differ in spelling,
+ *   category or unit. Recipe matching uses those key ids for its bitsets.
+ * - Like SymbolTable, the catalog only grows.
+ */
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class IngredientCatalog {
+    private static final Map<List<String>, Integer> IDS = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> KEY_IDS = new ConcurrentHashMap<>();
+    private static volatile Definition[] definitions = new Definition[64];
+    private static int size;
+
+    // One catalog entry
+    private static final class Definition {
+        final String name;
+        final String category;
+        final String unit;
+        final String matchKey;
+        final UnitRegistry.Unit measure;
+        final int keyId;
+
+        Definition(String name, String category, String unit, int keyId) {
+            this.name = name;
+            this.category = SymbolTable.canonical(category);
+            this.unit = SymbolTable.canonical(unit);
+            this.matchKey = MatchKey.of(name);
+            this.measure = UnitRegistry.lookup(unit);
+            this.keyId = keyId;
+        }
+    }
+
+    private IngredientCatalog() {
+    }
+
+    // Returns the id of an ingredient's definition, adding it if it is new. The quantity is not part of it.
+    public static int idOf(Ingredient ingredient) {
+        return idOf(ingredient.getName(), ingredient.getCategory(), ingredient.getUnit());
+    }
+
+    // Returns the id for a definition, adding it if it is new
+    public static int idOf(String name, String category, String unit) {
+        Integer id = IDS.get(Arrays.asList(name, category, unit));
+        return id != null ? id : add(name, category, unit);
+    }
+
+    // Appends a new definition; the id is published only after the definition is visible
+    private static synchronized int add(String name, String category, String unit) {
+        List<String> key = Arrays.asList(name, category, unit);
+        Integer existing = IDS.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        String matchKey = MatchKey.of(name);
+        int keyId = KEY_IDS.computeIfAbsent(matchKey == null ? "" : matchKey, k -> KEY_IDS.size());
+        Definition[] current = definitions;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size + (size >> 1));
+        }
+        current[size] = new Definition(name, category, unit, keyId);
+        definitions = current;
+        IDS.put(key, size);
+        return size++;
+    }
+
+    // Returns a new Ingredient for a definition and quantity
+    public static Ingredient materialize(int id, int quantity) {
+        Definition definition = definition(id);
+        return new Ingredient(definition.name, definition.category, quantity, definition.unit, definition.matchKey,
+                definition.measure);
+    }
+
+    // Getters for one definition
+    public static String getName(int id) {
+        return definition(id).name;
+    }
+
+    public static String getCategory(int id) {
+        return definition(id).category;
+    }
+
+    public static String getUnit(int id) {
+        return definition(id).unit;
+    }
+
+    public static String getMatchKey(int id) {
+        return definition(id).matchKey;
+    }
+
+    public static UnitRegistry.Unit getMeasure(int id) {
+        return definition(id).measure;
+    }
+
+    // Returns the dense id of the definition's match key
+    public static int getKeyId(int id) {
+        return definition(id).keyId;
+    }
+
+    // Returns the dense id of a match key, or -1 if no definition has it
+    public static int findKeyId(String matchKey) {
+        Integer keyId = KEY_IDS.get(matchKey == null ? "" : matchKey);
+        return keyId == null ? -1 : keyId;
+    }
+
+    // Returns the number of distinct match keys, one more than the largest key id
+    public static int keyCount() {
+        return KEY_IDS.size();
+    }
+
+    // Returns the number of definitions
+    public static int size() {
+        return IDS.size();
+    }
+
+    private static Definition definition(int id) {
+        Definition[] current = definitions;
+        if (id < 0 || id >= current.length || current[id] == null) {
+            throw new IndexOutOfBoundsException("Ingredient id: " + id);
+        }
+        return current[id];
+    }
+}
@@ -18,14 +18,18 @@
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.Scanner;
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 public class InventoryDriver {
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
-        PantryManager pantryManager = new PantryManager();
-        GroceryListManager groceryListManager = new GroceryListManager();
-        RecipeManager recipeManager = new RecipeManager();
+        // The list backend can be chosen per deployment, e.g. -Dkitchen.listBackend=ARRAY
+        ListBackend backend = ListBackend.valueOf(System.getProperty("kitchen.listBackend", "LINKED").toUpperCase());
+        PantryManager pantryManager = new PantryManager(backend);
+        GroceryListManager groceryListManager = new GroceryListManager(backend);
+        groceryListManager.setMergeOnAdd(true); // Adding recipes repeatedly raises quantities instead of duplicating items
+        RecipeManager recipeManager = new RecipeManager(pantryManager);
 
 
         boolean exit = false;
@@ -96,6 +100,9 @@ public class InventoryDriver {
                 	break;
                 case 10: 
                     recipeManager.matchIngredientsWithPantry(pantryManager);
+                    for (Recipe recipe : recipeManager.getCookableRecipes()) {
+                        System.out.println("Can cook now: " + recipe.getName());
+                    }
                     break;
                 case 11:
                     loadPantryItemsFromCSV(pantryManager, "pantry.csv");
@@ -314,14 +321,11 @@ public class InventoryDriver {
             Ingredient ingredient = new Ingredient(ingredientName, category, (int) quantity, unit);
 
             recipe.addIngredient(ingredient);
+        }
 
-            // Check if ingredient is sufficient in the pantry
-            PantryItem pantryItem = pantryManager.getItem(ingredientName);
-            if (pantryItem == null || pantryItem.getQuantity() < quantity) {
-                double quantityNeeded = pantryItem == null ? quantity : quantity - pantryItem.getQuantity();
-                System.out.println(ingredientName + " is not sufficient or not in pantry. Adding to grocery list.");
-                groceryListManager.addItem(new GroceryItem(ingredientName, "Grocery", (int) quantityNeeded, unit));  // Assuming default expiration date for grocery items
-            }
+        // Check the pantry once for the whole recipe and add one grocery item per insufficient ingredient
+        for (GroceryItem groceryItem : new MealPlan().add(recipe, 1).applyTo(pantryManager, groceryListManager)) {
+            System.out.println(groceryItem.getName() + " is not sufficient or not in pantry. Adding to grocery list.");
         }
 
         recipeManager.addRecipe(recipe);
@@ -335,17 +339,12 @@ public class InventoryDriver {
     * @param filename The name of the CSV file from which to load items.
     */
     private static void loadPantryItemsFromCSV(PantryManager pantryManager, String filename) {
-        try (Scanner scanner = new Scanner(new File(filename))) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                String[] attributes = line.split(",");
-                PantryItem item = new PantryItem(attributes[0], Integer.parseInt(attributes[1]),
-                                                 attributes[3], attributes[2],
-                                                 LocalDate.parse(attributes[4]));
-                pantryManager.addItem(item);
-            }
-            System.out.println("Pantry items loaded successfully from CSV.");
-        } catch (Exception e) {
+        try (CsvReader reader = new CsvReader(Paths.get(filename))) {
+            int loaded = reader.readInto(pantryManager, row -> new PantryItem(row.field(0), row.intField(1),
+                                                                              row.field(3), row.field(2),
+                                                                              parseDate(row.field(4))));
+            System.out.println(loaded + " pantry items loaded successfully from CSV.");
+        } catch (IOException e) {
             System.out.println("Error loading pantry items from CSV: " + e.getMessage());
         }
     }
@@ -357,32 +356,22 @@ public class InventoryDriver {
      * @param filename The name of the CSV file from which to load items.
      */
     private static void loadGroceryItemsFromCSV(GroceryListManager groceryListManager, String filename) {
-        try (Scanner scanner = new Scanner(new File(filename))) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                String[] attributes = line.split(",");
-                if (attributes.length >= 4) {
-                    try {
-                        String name = attributes[0];
-                        String category = attributes[1];
-                        int quantityNeeded = Integer.parseInt(attributes[2]);  // Ensure this is the correct index for quantity
-                        String unit = attributes[3];  // Ensure this is the correct index for unit
-
-                        GroceryItem item = new GroceryItem(name, category, quantityNeeded, unit);
-                        groceryListManager.addItem(item);
-                    } catch (NumberFormatException e) {
-                        System.err.println("Error parsing number from line: " + line);
-                    } catch (ArrayIndexOutOfBoundsException e) {
-                        System.err.println("Error accessing index, line format is incorrect: " + line);
-                    }
-                } else {
-                    System.err.println("Skipping malformed line: " + line);
-                }
-            }
-            System.out.println("Grocery items loaded successfully from CSV.");
-        } catch (Exception e) {
+        try (CsvReader reader = new CsvReader(Paths.get(filename))) {
+            int loaded = reader.readInto(groceryListManager, row -> new GroceryItem(row.field(0), row.field(1),
+                                                                                    row.intField(2), row.field(3)));
+            System.out.println(loaded + " grocery items loaded successfully from CSV.");
+        } catch (IOException e) {
             System.out.println("Error loading grocery items from CSV: " + e.getMessage());
         }
     }
+
+    /**
+     * Parses an expiration date as written by PantryManager.saveToCSV, where items without one are saved as "null".
+     * @param text The date text.
+     * @return The date, or null if the item has none.
+     */
+    private static LocalDate parseDate(String text) {
+        return text.isEmpty() || text.equals("null") ? null : LocalDate.parse(text);
+    }
 }
 
@@ -11,24 +11,52 @@
  *   within different parts of the application.
  * - Offer utility methods like printing item details, comparing items, and generating standard hash codes and
  *   string representations, which are crucial for collections and debugging.
+ * - Category and unit go through SymbolTable, so equal values share one String instance across all items.
+ * - The unit is resolved through UnitRegistry once, when it is set, so subclasses can keep their quantities in
+ *   base units and compare them without parsing unit text.
+ * - A normalized match key is derived from the name once, so recipe ingredients and pantry items can be matched
+ *   with a hash lookup regardless of case, spacing or plural endings.
+ * - Setters notify registered ItemListeners, so managers can keep their indexes current when an item is changed
+ *   directly instead of through the manager.
  *
  * Usage:
  * - This class is intended to be extended by more specific item classes that may add additional properties
  *   or behaviors. It provides a common structure and set of functionalities that ensure consistency across
  *   various types of items managed within the system.
  */
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public abstract class Item {
+	//Property names passed to ItemListener.itemChanged
+	public static final String NAME = "name";
+	public static final String CATEGORY = "category";
+	public static final String UNIT = "unit";
+	
 	private String name; 
 	private String category; //pantry, grocery, recipe ingredient 
 	private String unit; // gallons, lbs,etc 
+	private UnitRegistry.Unit measure; // The resolved unit, see UnitRegistry
+	private String matchKey; // Normalized name used to match ingredients with pantry items, see MatchKey
+	private List<ItemListener> listeners; // Created on first registration, most items have none
 	
 	//Constructor
 	public Item(String name, String category, String unit) {
 		this.name=name; 
-		this.category = category; 
+		this.matchKey = MatchKey.of(name);
+		this.category = SymbolTable.canonical(category); 
+		this.unit = SymbolTable.canonical(unit);
+		this.measure = UnitRegistry.lookup(unit);
+	}
+	
+	//Constructor for copies built from already normalized values, e.g. by IngredientCatalog
+	protected Item(String name, String category, String unit, String matchKey, UnitRegistry.Unit measure) {
+		this.name = name;
+		this.matchKey = matchKey;
+		this.category = category;
 		this.unit = unit;
+		this.measure = measure;
 	}
 	
 	//getters 
@@ -44,17 +72,65 @@ public abstract class Item {
 		return unit;
 	}
 	
+	//Returns the unit as resolved by UnitRegistry
+	public UnitRegistry.Unit getMeasure() {
+		return measure;
+	}
+	
+	//Returns the case-, space- and plural-insensitive form of the name
+	public String getMatchKey() {
+		return matchKey;
+	}
+	
 	//Setters 
 	public void setName(String name) {
+		String oldName = this.name;
 		this.name = name;
+		this.matchKey = MatchKey.of(name);
+		fireChanged(NAME, oldName);
 	}
 	
 	public void setUnit(String unit) {
-		this.unit = unit;
+		String oldUnit = this.unit;
+		this.unit = SymbolTable.canonical(unit);
+		this.measure = UnitRegistry.lookup(unit);
+		unitChanged();
+		fireChanged(UNIT, oldUnit);
+	}
+	
+	//Called after the unit changed, before listeners are told; subclasses recompute their base quantities here
+	protected void unitChanged() {
 	}
 	
 	public void setCategory(String category) {
-		this.category = category;
+		String oldCategory = this.category;
+		this.category = SymbolTable.canonical(category);
+		fireChanged(CATEGORY, oldCategory);
+	}
+	
+	//Registers a listener that is told about every change made through the setters
+	public void addListener(ItemListener listener) {
+		if (listeners == null) {
+			listeners = new ArrayList<>(2);
+		}
+		listeners.add(listener);
+	}
+	
+	//Unregisters a listener added with addListener
+	public void removeListener(ItemListener listener) {
+		if (listeners != null) {
+			listeners.remove(listener);
+		}
+	}
+	
+	//Tells the registered listeners that a property changed
+	protected void fireChanged(String property, Object oldValue) {
+		if (listeners == null) {
+			return;
+		}
+		for (ItemListener listener : listeners.toArray(new ItemListener[0])) {
+			listener.itemChanged(this, property, oldValue);
+		}
 	}
 
     // Checks if this item is equal to another object
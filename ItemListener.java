@@ -0,0 +1,15 @@
+/*
+ * ItemListener Interface
+ *
+ * This interface is implemented by anything that keeps derived data about items, such as the indexes and schedulers
+ * inside the managers, and needs to hear about changes made directly through an item's setters.
+ *
+ * Usage:
+ * - Register with Item.addListener and unregister with Item.removeListener.
+ * - itemChanged is called after the field has changed, with the name of the property (one of the property
+ *   constants on Item, PantryItem and GroceryItem) and the value it had before.
+ */
+public interface ItemListener {
+    // Called after a property of the item changed
+    void itemChanged(Item item, String property, Object oldValue);
+}
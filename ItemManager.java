@@ -10,8 +10,9 @@
  * - Remove an item from the collection by an identifier.
  * - Retrieve an item by its identifier.
  * - Get a complete list of all items.
- * - Filter the list of items based on custom conditions.
+ * - Filter the list of items based on custom conditions, in parallel once the collection is large enough.
  * - Update an existing item in the collection.
+ * - Take a read-only snapshot of the collection for printing and saving.
  *
  * Each method supports essential operations typically required in inventory management systems or similar applications
  * where collections of objects need to be maintained dynamically.
@@ -20,6 +21,9 @@ import java.util.function.Predicate;
 
 //Generic interface capable of managing items of any type "T" 
 public interface ItemManager<T> {
+	//Collections with at least this many items are filtered in parallel by getItems(Predicate)
+	int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+	
 	//A method for classes implementing this interface in their item type manager (grocery/pantry)
     void addItem(T item);
     //A method to remove an item by its id. Ids are defined/implemented by each class 
@@ -35,4 +39,10 @@ public interface ItemManager<T> {
     //Updates an existing item in the management system.
     void updateItem(T updatedItem);
     
+    //Returns an immutable, point-in-time view of all items, so long reports and exports
+    //do not see later changes. Managers over a live MyList reuse that list's snapshot.
+    default MyList<T> snapshot() {
+        return getItems().snapshot();
+    }
+    
 }
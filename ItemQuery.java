@@ -0,0 +1,182 @@
+/*
+ * ItemQuery Class
+ *
+ * This class describes a structured item query as a set of conditions, so that a QueryPlanner can see which
+ * conditions an index can answer instead of receiving an opaque Predicate. Conditions are combined with AND.
+ *
+ * Usage:
+ * - new ItemQuery().categoryEquals("Dairy").quantityBetween(1, 5) builds a query; every method returns the query.
+ * - Pass it to PantryManager.query / GroceryListManager.query, or to explain() to see the chosen access path.
+ * - The quantity condition reads the manager's quantity field (PantryItem.getQuantity,
+ *   GroceryItem.getQuantityNeeded). The expiration condition only matches PantryItems with an expiration date.
+ */
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+public class ItemQuery {
+    // The conditions a query can hold; access paths report which one they answer
+    public enum Field {
+        NAME,
+        NAME_PREFIX,
+        CATEGORY,
+        QUANTITY,
+        EXPIRATION
+    }
+
+    private String name;
+    private String namePrefix;
+    private String category;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+    private LocalDate expiresFrom;
+    private LocalDate expiresTo;
+
+    // Matches items whose name equals name
+    public ItemQuery nameEquals(String name) {
+        this.name = name;
+        return this;
+    }
+
+    // Matches items whose name starts with prefix
+    public ItemQuery nameStartsWith(String prefix) {
+        this.namePrefix = prefix;
+        return this;
+    }
+
+    // Matches items in the given category
+    public ItemQuery categoryEquals(String category) {
+        this.category = category;
+        return this;
+    }
+
+    // Matches items whose quantity is between min and max, both inclusive
+    public ItemQuery quantityBetween(int min, int max) {
+        this.minQuantity = min;
+        this.maxQuantity = max;
+        return this;
+    }
+
+    // Matches items whose quantity is at least min
+    public ItemQuery quantityAtLeast(int min) {
+        this.minQuantity = min;
+        return this;
+    }
+
+    // Matches pantry items expiring between from and to, both inclusive. Both bounds are required.
+    public ItemQuery expiresBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Expiration bounds must not be null: [" + from + ", " + to + "]");
+        }
+        this.expiresFrom = from;
+        this.expiresTo = to;
+        return this;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDate getExpiresFrom() {
+        return expiresFrom;
+    }
+
+    public LocalDate getExpiresTo() {
+        return expiresTo;
+    }
+
+    // Returns true if the query has a condition on the field
+    public boolean has(Field field) {
+        switch (field) {
+            case NAME:
+                return name != null;
+            case NAME_PREFIX:
+                return namePrefix != null;
+            case CATEGORY:
+                return category != null;
+            case QUANTITY:
+                return minQuantity != null || maxQuantity != null;
+            case EXPIRATION:
+                return expiresFrom != null;
+            default:
+                return false;
+        }
+    }
+
+    // Returns true if the item satisfies every condition, reading quantities through the given accessor
+    public <T extends Item> boolean matches(T item, ToIntFunction<? super T> quantity) {
+        if (name != null && !name.equals(item.getName())) {
+            return false;
+        }
+        if (namePrefix != null && (item.getName() == null || !item.getName().startsWith(namePrefix))) {
+            return false;
+        }
+        if (category != null && !category.equals(item.getCategory())) {
+            return false;
+        }
+        if (has(Field.QUANTITY)) {
+            int amount = quantity.applyAsInt(item);
+            if ((minQuantity != null && amount < minQuantity) || (maxQuantity != null && amount > maxQuantity)) {
+                return false;
+            }
+        }
+        if (expiresFrom != null) {
+            if (!(item instanceof PantryItem)) {
+                return false;
+            }
+            LocalDate date = ((PantryItem) item).getExpirationDate();
+            if (date == null || date.isBefore(expiresFrom) || date.isAfter(expiresTo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns a readable form of one condition, or null if the query has none on that field
+    public String describe(Field field) {
+        if (!has(field)) {
+            return null;
+        }
+        switch (field) {
+            case NAME:
+                return "name = " + name;
+            case NAME_PREFIX:
+                return "name starts with " + namePrefix;
+            case CATEGORY:
+                return "category = " + category;
+            case QUANTITY:
+                return "quantity in [" + (minQuantity == null ? "-inf" : minQuantity) + ", "
+                        + (maxQuantity == null ? "+inf" : maxQuantity) + "]";
+            case EXPIRATION:
+                return "expires in [" + expiresFrom + ", " + expiresTo + "]";
+            default:
+                return null;
+        }
+    }
+
+    // Returns the readable form of every condition except the one an access path answers
+    public List<String> describeExcept(Field covered) {
+        List<String> conditions = new ArrayList<>();
+        for (Field field : Field.values()) {
+            if (field != covered && has(field)) {
+                conditions.add(describe(field));
+            }
+        }
+        return conditions;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemQuery" + describeExcept(null);
+    }
+}
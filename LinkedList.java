@@ -12,14 +12,34 @@
  * - Filter functionality using predicates, allowing for complex queries such as retrieving all expired items.
  * - Support for updating items based on their unique identifiers.
  * - Implementation of print methods to display item information directly, facilitating debugging and verification.
+ * - A fail-fast cursor iterator so full scans walk the chain once instead of calling get(i) per index.
+ * - A batching spliterator, so parallel streams and parallelFilter can hand chunks of the chain to the fork/join pool.
+ * - A tail pointer and a name->node hash index, so appends, name lookups, removals and updates are constant time
+ *   while the chain itself keeps insertion order for printing and CSV output. The index keeps the first and the
+ *   last node for each name, so appending another item with a name that is already listed is constant time too.
+ * - Items renamed through Item.setName are re-filed by rename(), which the managers call from their item listeners.
+ *   A lookup that finds a stale entry in a list nobody re-filed rebuilds the index.
+ * - snapshot() runs in constant time: the snapshot shares the nodes and the name index, and whichever list is
+ *   modified next copies them first (copy-on-write), like ArrayBackedList. That first write after a snapshot pays
+ *   for the copy; later writes are constant time again.
  */
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public class LinkedList<T extends Item> implements MyList<T>{
 	private class Node{
 		T data; // Data element stored in the node 
 		Node next; // Pointer to the next node in the list
+		Node prev; // Pointer to the previous node, so a node found through the index can be unlinked directly
+		Node nextSameName; // Next node holding an item with the same name, in list order
+		long order; // Position stamp taken on append, so a renamed node can be filed in list order
 		
 		Node(T data){
 			this.data = data; 
@@ -28,27 +48,36 @@ public class LinkedList<T extends Item> implements MyList<T>{
 	}
 
 	private Node head; // Head of the list 
+	private Node tail; // Last node of the list, so appends do not walk the chain
 	private int size;  // Number of elements in the list 
+	private int modCount; // Structural modification counter checked by iterators
+	private long nextOrder; // Stamp for the next appended node
+	private Map<String, NameChain> nameIndex; // First and last node for each item name
+	private boolean shared; // True while the nodes and nameIndex are also referenced by a snapshot
+	
+	// The nodes holding items with one name, linked through Node.nextSameName in list order
+	private class NameChain{
+		Node first;
+		Node last;
+		
+		NameChain(Node node){
+			this.first = node;
+			this.last = node;
+		}
+	}
 	
 	public LinkedList() {
 		head = null;
+		tail = null;
 		size = 0;
+		nameIndex = new HashMap<>();
 	}
 	
     // Adds a new item to the end of the list
 	@Override 
 	public void add(T item) {
-		Node newNode = new Node(item);
-		if(head == null) {
-			head = newNode;
-		} else {
-			Node current = head;
-			while (current.next != null) {
-				current = current.next;
-			}
-			current.next = newNode;
-		}
-		size ++;
+		unshare();
+		linkLast(new Node(item));
 	}
 	
     // Returns the number of items in the list
@@ -57,31 +86,38 @@ public class LinkedList<T extends Item> implements MyList<T>{
 		return size;
 	}
 
-    // Removes an item by identifier, either index or object name
+    // Removes an item by identifier: the first item with a name, or exactly the given item
 	@Override
 	public boolean remove(Object identifier) {
-	    if (head == null) {
+	    if (identifier instanceof Item) {
+	        return removeExact((Item) identifier);
+	    }
+	    if (!(identifier instanceof String)) {
 	        return false;
 	    }
-
-	    // If the head is the node to be removed
-	    if (identifier instanceof String && identifier.equals(head.data.getName())) {
-	        head = head.next;
-	        size--;
-	        return true;
+	    unshare();
+	    Node node = findNode((String) identifier);
+	    if (node == null) {
+	        return false;
 	    }
-
-	    Node current = head;
-	    while (current.next != null) {
-	        // Check if the next node's data matches the identifier
-	        if (identifier instanceof String && identifier.equals(current.next.data.getName())) {
-	            current.next = current.next.next;  // Skip the node to remove it
-	            size--;
-	            return true;
-	        }
-	        current = current.next;
+	    unlink(node, null);
+	    return true;
+	}
+	
+	// Removes exactly this item by walking its name's chain, leaving other items with the same name in place
+	private boolean removeExact(Item item) {
+	    unshare();
+	    Node previousSameName = null;
+	    Node node = findNode(item.getName());
+	    while (node != null && node.data != item) {
+	        previousSameName = node;
+	        node = node.nextSameName;
 	    }
-	    return false;
+	    if (node == null) {
+	        return false;
+	    }
+	    unlink(node, previousSameName);
+	    return true;
 	}
 	//getters 
     public Node getHead() {
@@ -113,16 +149,159 @@ public class LinkedList<T extends Item> implements MyList<T>{
 
     // Private helper to get an item by object identifier
     private T getByObject(Object identifier) {
-        Node current = head;
-        while (current != null) {
-            if (identifier instanceof String && identifier.equals(current.data.getName())) {
-                return current.data;
+        if (identifier instanceof String) {
+            Node node = findNode((String) identifier);
+            if (node != null) {
+                return node.data;
             }
-            current = current.next;
         }
         throw new NoSuchElementException("No element with identifier: " + identifier);
     } 
     
+    // Returns the first item with the given name, or null if there is none
+    public T findByName(String name) {
+        Node node = findNode(name);
+        return node == null ? null : node.data;
+    }
+    
+    // Returns the item for a name or index identifier, or null if there is none
+    @Override
+    public T find(Object identifier) {
+        if (identifier instanceof Integer) {
+            int index = (Integer) identifier;
+            return index < 0 || index >= size ? null : getByIndex(index);
+        }
+        return identifier instanceof String ? findByName((String) identifier) : null;
+    }
+    
+    // Rebuilds the name index from the chain, e.g. after items were renamed through Item.setName
+    public void reindex() {
+        unshare();
+        nameIndex.clear();
+        for (Node current = head; current != null; current = current.next) {
+            current.nextSameName = null;
+            addToChain(current);
+        }
+    }
+    
+    // Re-files an item that was renamed from oldName under its current name, so name lookups and updateItem find
+    // it under the new name instead of appending it a second time
+    @Override
+    public void rename(T item, String oldName) {
+        unshare();
+        NameChain chain = nameIndex.get(oldName);
+        Node previousSameName = null;
+        Node node = chain == null ? null : chain.first;
+        while (node != null && node.data != item) {
+            previousSameName = node;
+            node = node.nextSameName;
+        }
+        if (node == null) {
+            return; // Not filed under oldName, e.g. reindex() already moved it
+        }
+        if (previousSameName == null) {
+            chain.first = node.nextSameName;
+        } else {
+            previousSameName.nextSameName = node.nextSameName;
+        }
+        if (chain.last == node) {
+            chain.last = previousSameName;
+        }
+        if (chain.first == null) {
+            nameIndex.remove(oldName);
+        }
+        node.nextSameName = null;
+        insertIntoChain(node);
+    }
+    
+    // Files a node in its name's chain at its place in list order
+    private void insertIntoChain(Node node) {
+        NameChain chain = nameIndex.get(node.data.getName());
+        if (chain == null || chain.last.order < node.order) {
+            addToChain(node);
+        } else if (node.order < chain.first.order) {
+            node.nextSameName = chain.first;
+            chain.first = node;
+        } else {
+            Node before = chain.first;
+            while (before.nextSameName.order < node.order) {
+                before = before.nextSameName;
+            }
+            node.nextSameName = before.nextSameName;
+            before.nextSameName = node;
+        }
+    }
+    
+    // Looks up the first node for a name through the index. An entry whose item was renamed
+    // behind the list's back is detected here and the index is rebuilt before answering.
+    private Node findNode(String name) {
+        NameChain chain = nameIndex.get(name);
+        if (chain != null && !name.equals(chain.first.data.getName())) {
+            reindex();
+            chain = nameIndex.get(name);
+        }
+        return chain == null ? null : chain.first;
+    }
+    
+    // Appends a node to the end of its name's chain, which it must follow in list order
+    private void addToChain(Node node) {
+        String name = node.data.getName();
+        NameChain chain = nameIndex.get(name);
+        if (chain == null) {
+            nameIndex.put(name, new NameChain(node));
+        } else {
+            chain.last.nextSameName = node;
+            chain.last = node;
+        }
+    }
+    
+    // Appends a node after the tail and registers it under its item's name
+    private void linkLast(Node newNode) {
+        if (tail == null) {
+            head = newNode;
+        } else {
+            tail.next = newNode;
+            newNode.prev = tail;
+        }
+        tail = newNode;
+        newNode.order = nextOrder++;
+        addToChain(newNode);
+        size++;
+        modCount++;
+    }
+    
+    // Unlinks a node from both chains and the index. previousSameName is the node before it in its name's chain,
+    // or null if it is the first node for its name.
+    private void unlink(Node node, Node previousSameName) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        String name = node.data.getName();
+        NameChain chain = nameIndex.get(name);
+        if (previousSameName != null) {
+            previousSameName.nextSameName = node.nextSameName;
+        } else if (node.nextSameName == null) {
+            nameIndex.remove(name);
+        } else {
+            chain.first = node.nextSameName;
+        }
+        if (chain != null && chain.last == node) {
+            chain.last = previousSameName;
+        }
+        node.next = null;
+        node.prev = null;
+        node.nextSameName = null;
+        size--;
+        modCount++;
+    }
+    
     // Returns a list of all items
     public MyList<T> getAllItems() {
         LinkedList<T> allItems = new LinkedList<>();
@@ -135,6 +314,7 @@ public class LinkedList<T extends Item> implements MyList<T>{
     }
 
     // Method to filter items based on a predicate
+    @Override
     public LinkedList<T> filter(Predicate<T> predicate) {
         LinkedList<T> filteredList = new LinkedList<>();
         Node current = head;
@@ -147,25 +327,168 @@ public class LinkedList<T extends Item> implements MyList<T>{
         return filteredList;
     }
     
-    // Recursive method to update an item
-    public Node updateItemRecursive(Node current, T updatedItem) {
-        if (current == null) {
-            // Item not found, add new item at the end of the list
-            return new Node(updatedItem);
-        } else if (current.data.getName().equals(updatedItem.getName())) {
-            // Update the current node's data
-            current.data = updatedItem;
-            return current;
+    // Filters on the fork/join pool. Chunks are tested in parallel and added to the result in list order.
+    @Override
+    public LinkedList<T> parallelFilter(Predicate<T> predicate) {
+        LinkedList<T> filteredList = new LinkedList<>();
+        parallelStream().filter(predicate).forEachOrdered(filteredList::add);
+        return filteredList;
+    }
+    
+    // Replaces the first item with the same name, or appends the item if no such item exists
+    @Override
+    public void updateItem(T updatedItem) {
+        unshare();
+        Node node = findNode(updatedItem.getName());
+        if (node == null) {
+            linkLast(new Node(updatedItem));
         } else {
-            // Proceed to the next node
-            current.next = updateItemRecursive(current.next, updatedItem);
-            return current;
+            node.data = updatedItem;
         }
     }
+    
+    // Returns a read-only snapshot that shares this list's nodes until either side is modified
+    @Override
+    public MyList<T> snapshot() {
+        LinkedList<T> copy = new LinkedList<>();
+        copy.head = head;
+        copy.tail = tail;
+        copy.size = size;
+        copy.nextOrder = nextOrder;
+        copy.nameIndex = nameIndex;
+        copy.shared = true;
+        shared = true;
+        return new ReadOnlyList<>(copy);
+    }
+    
+    // Gives this list its own copy of the nodes and the name index it shares with a snapshot, before the first write
+    private void unshare() {
+        if (!shared) {
+            return;
+        }
+        Node original = head;
+        head = null;
+        tail = null;
+        nameIndex = new HashMap<>();
+        for (; original != null; original = original.next) {
+            Node copy = new Node(original.data);
+            copy.order = original.order;
+            if (tail == null) {
+                head = copy;
+            } else {
+                tail.next = copy;
+                copy.prev = tail;
+            }
+            tail = copy;
+            addToChain(copy);
+        }
+        shared = false;
+    }
+    
+    // Returns a fail-fast cursor that walks the list once from head to tail
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node cursor = head;
+            private final int expectedModCount = modCount;
 
-    // Public method to initiate the recursive update
-    public void updateItem(T updatedItem) {
-        head = updateItemRecursive(head, updatedItem);
+            @Override
+            public boolean hasNext() {
+                return cursor != null;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                T data = cursor.data;
+                cursor = cursor.next;
+                return data;
+            }
+        };
+    }
+    
+    // Returns a spliterator that splits by copying growing batches of nodes into arrays
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator(head, size, modCount);
+    }
+    
+    // A chain cannot be split in the middle without walking it, so trySplit hands off the next batch of
+    // nodes as an array spliterator and keeps the rest, growing the batch each time (like java.util.LinkedList)
+    private class NodeSpliterator implements Spliterator<T> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+        private Node current;
+        private int remaining;
+        private int batch;
+        private final int expectedModCount;
+
+        NodeSpliterator(Node first, int remaining, int expectedModCount) {
+            this.current = first;
+            this.remaining = remaining;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (current == null) {
+                return false;
+            }
+            T data = current.data;
+            current = current.next;
+            remaining--;
+            action.accept(data);
+            checkForComodification();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (current != null) {
+                action.accept(current.data);
+                current = current.next;
+            }
+            remaining = 0;
+            checkForComodification();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (current == null || remaining <= 1) {
+                return null;
+            }
+            int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+            Object[] items = new Object[n];
+            int count = 0;
+            while (count < n && current != null) {
+                items[count++] = current.data;
+                current = current.next;
+            }
+            batch = count;
+            remaining -= count;
+            return Spliterators.spliterator(items, 0, count, Spliterator.ORDERED);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
     
     @Override
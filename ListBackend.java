@@ -0,0 +1,24 @@
+/*
+ * ListBackend Enum
+ *
+ * This enum names the MyList implementations that the item managers can be built on, so a deployment can pick its
+ * backend from configuration (for example with ListBackend.valueOf) and benchmark one against the other.
+ *
+ * - LINKED: LinkedList, cheap removals anywhere in the list.
+ * - ARRAY: ArrayBackedList, contiguous storage with constant time indexed access for read-heavy workloads.
+ */
+public enum ListBackend {
+    LINKED,
+    ARRAY;
+
+    // Creates a new, empty list of this backend type
+    public <T extends Item> MyList<T> create() {
+        switch (this) {
+            case ARRAY:
+                return new ArrayBackedList<>();
+            case LINKED:
+            default:
+                return new LinkedList<>();
+        }
+    }
+}
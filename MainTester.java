@@ -45,6 +45,32 @@ public class MainTester {
             System.out.println(foundRecipe);
         }
 
+        // Editing a recipe after adding it keeps its cookable state current
+        PantryManager kitchen = new PantryManager();
+        RecipeManager kitchenRecipes = new RecipeManager(kitchen);
+        Recipe rice = new Recipe("Rice");
+        rice.addIngredient(new Ingredient("Rice", "Grains", 1, "Cups"));
+        rice.addIngredient(new Ingredient("Water", "Drinks", 2, "Cups"));
+        kitchenRecipes.addRecipe(rice);
+        rice.removeIngredient(); // Drops the ingredient named like the recipe, leaving Water
+        kitchen.addItem(new PantryItem("Water", 4, "Drinks", "Cups", LocalDate.now().plusYears(1)));
+        System.out.println("\nRice cookable with only water in the pantry: " + kitchenRecipes.isCookable(rice));
+        rice.addIngredient(new Ingredient("Salt", "Spices", 1, "Pinch"));
+        System.out.println("Rice cookable after adding salt to the recipe: " + kitchenRecipes.isCookable(rice));
+        kitchen.addItem(new PantryItem("Salt", 1, "Spices", "Pinch", LocalDate.now().plusYears(1)));
+        System.out.println("Rice cookable after adding salt to the pantry: " + kitchenRecipes.isCookable(rice));
+
+        // Singular and plural names share a match key
+        String[][] namePairs = {
+                {"Cookie", "Cookies"}, {"Pie", "Pies"}, {"Brownie", "Brownies"}, {"Leaf", "Leaves"},
+                {"Loaf", "Loaves"}, {"Shoe", "Shoes"}, {"Molasses", "Molasses"}, {"Olive", "Olives"},
+                {"Berry", "Berries"}, {"Tomato", "Tomatoes"}, {"Peach", "Peaches"}, {"Egg", "Eggs"}};
+        System.out.println();
+        for (String[] pair : namePairs) {
+            System.out.println(pair[0] + " -> " + MatchKey.of(pair[0]) + ", " + pair[1] + " -> " + MatchKey.of(pair[1])
+                    + ", same key: " + MatchKey.of(pair[0]).equals(MatchKey.of(pair[1])));
+        }
+
         // Simulate saving to CSV (displaying message only)
         System.out.println("\nSimulating saving to CSV files.");
         groceryManager.saveToCSV("groceries.csv");
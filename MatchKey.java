@@ -0,0 +1,80 @@
+/*
+ * MatchKey Class
+ *
+ * This class computes the canonical key used to match a recipe ingredient with a pantry item. Two names that differ
+ * only in case, spacing or a plural ending map to the same key, so "Eggs" matches "egg" and "Olive  oil" matches
+ * "olive oil".
+ *
+ * Approach:
+ * - The name is trimmed, lower-cased and runs of whitespace are collapsed to a single space.
+ * - The last word is singularized with a few English rules: "berries" -> "berry", "tomatoes" -> "tomato",
+ *   "peaches" -> "peach", "eggs" -> "egg". Words ending in "ss", "us" or "is" are left alone ("glass",
+ *   "asparagus", "hummus").
+ * - Plurals the rules get wrong are looked up in a small table first: "-ie" words ("cookies" -> "cookie",
+ *   "pies" -> "pie"), "-f" words ("leaves" -> "leaf", "loaves" -> "loaf"), "-oe" words ("shoes" -> "shoe") and
+ *   words that are their own singular ("molasses"). "Olives" and "cloves" follow the plain rule.
+ * - Item computes its key once, in the constructor and in setName, so matching is a plain hash lookup.
+ */
+import java.util.Locale;
+import java.util.Map;
+
+public final class MatchKey {
+    // Plurals the suffix rules get wrong, mapped to their singular
+    private static final Map<String, String> IRREGULAR = Map.ofEntries(
+            Map.entry("brownies", "brownie"), Map.entry("calories", "calorie"), Map.entry("cookies", "cookie"),
+            Map.entry("pies", "pie"), Map.entry("smoothies", "smoothie"), Map.entry("veggies", "veggie"),
+            Map.entry("calves", "calf"), Map.entry("halves", "half"), Map.entry("knives", "knife"),
+            Map.entry("leaves", "leaf"), Map.entry("loaves", "loaf"), Map.entry("shelves", "shelf"),
+            Map.entry("canoes", "canoe"), Map.entry("shoes", "shoe"), Map.entry("sloes", "sloe"),
+            Map.entry("toes", "toe"),
+            Map.entry("molasses", "molasses"), Map.entry("series", "series"), Map.entry("species", "species"));
+
+    private MatchKey() {
+    }
+
+    // Returns the match key for a name, or null for a null name
+    public static String of(String name) {
+        if (name == null) {
+            return null;
+        }
+        String folded = name.trim().toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+            } else {
+                if (space) {
+                    builder.append(' ');
+                    space = false;
+                }
+                builder.append(c);
+            }
+        }
+        int wordStart = builder.lastIndexOf(" ") + 1;
+        String lastWord = builder.substring(wordStart);
+        builder.setLength(wordStart);
+        return builder.append(singular(lastWord)).toString();
+    }
+
+    // Strips a plural ending from one lower-case word
+    private static String singular(String word) {
+        String irregular = IRREGULAR.get(word);
+        if (irregular != null) {
+            return irregular;
+        }
+        int length = word.length();
+        if (length <= 3 || !word.endsWith("s") || word.endsWith("ss") || word.endsWith("us") || word.endsWith("is")) {
+            return word;
+        }
+        if (word.endsWith("ies")) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (word.endsWith("oes") || word.endsWith("ches") || word.endsWith("shes") || word.endsWith("xes")
+                || word.endsWith("zes") || word.endsWith("sses")) {
+            return word.substring(0, length - 2);
+        }
+        return word.substring(0, length - 1);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MealPlan Class
+ *
+ * This class collects the recipes planned for a period, each with a servings multiplier, and turns them into one
+ * grocery delta: what has to be bought beyond what the pantry already holds. Planning a week of recipes that share
+ * ingredients produces one grocery item per ingredient instead of one per recipe.
+ *
+ * Approach:
+ * - Demand is aggregated in one pass over the recipes' packed ingredients into a LinkedHashMap keyed by the
+ *   ingredient's match key and unit dimension, summing base quantities (see UnitRegistry) times the recipe's
+ *   servings. The same ingredient in units that cannot be converted stays in separate entries.
+ * - The pantry is probed once per distinct ingredient through PantryManager.findByMatchKey, and compatible stock
+ *   is subtracted from the total.
+ * - Each shortfall becomes one GroceryItem in the unit of the first ingredient that asked for it, rounded up.
+ *   applyTo adds the whole delta to a GroceryListManager in one batch.
+ */
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MealPlan {
+    private final Map<Recipe, Integer> servings = new IdentityHashMap<>(); // Recipe -> servings multiplier
+    private final List<Recipe> recipes = new ArrayList<>(); // Planned recipes in the order they were added
+
+    // The total demand for one ingredient in one dimension
+    private static final class Demand {
+        final int firstId; // Catalog id that supplies the name, category and unit of the grocery item
+        long baseQuantity;
+
+        Demand(int firstId) {
+            this.firstId = firstId;
+        }
+    }
+
+    // Plans a recipe with a servings multiplier; planning the same recipe again adds to its servings
+    public MealPlan add(Recipe recipe, int servingsMultiplier) {
+        if (servingsMultiplier <= 0) {
+            throw new IllegalArgumentException("Servings must be positive: " + servingsMultiplier);
+        }
+        if (servings.merge(recipe, servingsMultiplier, Integer::sum) == servingsMultiplier) {
+            recipes.add(recipe);
+        }
+        return this;
+    }
+
+    // Removes a recipe from the plan
+    public void remove(Recipe recipe) {
+        if (servings.remove(recipe) != null) {
+            recipes.remove(recipe);
+        }
+    }
+
+    // Returns the servings multiplier of a planned recipe, or 0 if it is not planned
+    public int getServings(Recipe recipe) {
+        return servings.getOrDefault(recipe, 0);
+    }
+
+    // Returns the planned recipes in the order they were added
+    public List<Recipe> getRecipes() {
+        return new ArrayList<>(recipes);
+    }
+
+    // Returns one grocery item per ingredient the pantry does not cover for the whole plan
+    public List<GroceryItem> computeGroceryDelta(PantryManager pantryManager) {
+        Map<String, Demand> demand = new LinkedHashMap<>();
+        for (Recipe recipe : recipes) {
+            int multiplier = servings.get(recipe);
+            for (int i = 0; i < recipe.getIngredientCount(); i++) {
+                int ingredientId = recipe.getIngredientId(i);
+                UnitRegistry.Unit measure = IngredientCatalog.getMeasure(ingredientId);
+                String key = IngredientCatalog.getMatchKey(ingredientId) + '\u0000' + measure.getDimension();
+                demand.computeIfAbsent(key, k -> new Demand(ingredientId)).baseQuantity
+                        += measure.toBase(recipe.getQuantity(i)) * multiplier;
+            }
+        }
+        List<GroceryItem> delta = new ArrayList<>();
+        for (Demand needed : demand.values()) {
+            int ingredientId = needed.firstId;
+            UnitRegistry.Unit measure = IngredientCatalog.getMeasure(ingredientId);
+            long shortfall = needed.baseQuantity;
+            PantryItem stock = pantryManager.findByMatchKey(IngredientCatalog.getMatchKey(ingredientId));
+            if (stock != null && stock.getMeasure().isCompatible(measure)) {
+                shortfall -= stock.getBaseQuantity();
+            }
+            if (shortfall > 0) {
+                delta.add(new GroceryItem(IngredientCatalog.getName(ingredientId),
+                        IngredientCatalog.getCategory(ingredientId), measure.fromBase(shortfall),
+                        IngredientCatalog.getUnit(ingredientId)));
+            }
+        }
+        return delta;
+    }
+
+    // Adds the plan's grocery delta to the grocery list as one batch and returns it
+    public List<GroceryItem> applyTo(PantryManager pantryManager, GroceryListManager groceryListManager) {
+        List<GroceryItem> delta = computeGroceryDelta(pantryManager);
+        groceryListManager.addItems(delta);
+        return delta;
+    }
+}
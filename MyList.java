@@ -13,9 +13,15 @@
  * - Remove elements from the list either by an index or a direct object reference.
  * - Provide utility methods to print all elements and specifically expired elements, which assumes that elements of type T
  *   have an 'expired' state which can be evaluated.
+ * - Expose the elements through Iterable and stream() so callers can scan the whole list in a single pass
+ *   instead of calling get(i) for every index.
+ * - Implementations (LinkedList, ArrayBackedList) are interchangeable so managers can pick a backend per deployment.
  */
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public interface MyList<T> {
+public interface MyList<T> extends Iterable<T> {
 
     // Adds an item to the list
     void add(T item);
@@ -26,14 +32,48 @@ public interface MyList<T> {
     // Returns the number of elements in the list
     int size();
 
-    // Removes an item from the list, by index or object
+    // Removes an item from the list: the first item with a name, or exactly the given item
     boolean remove(Object identifier);
 
+    // Returns the item matching the identifier, or null if there is none
+    T find(Object identifier);
+
+    // Returns a new list holding the items that match the predicate, in list order
+    MyList<T> filter(Predicate<T> predicate);
+
+    // Like filter, but tests the items on the common fork/join pool. The result keeps list order.
+    MyList<T> parallelFilter(Predicate<T> predicate);
+
+    // Replaces the item with the same identifier, or appends it if there is none
+    void updateItem(T updatedItem);
+
+    // Re-files an item whose name changed from oldName, for lists that index their items by name. Managers call it
+    // from their item listeners when they see Item.NAME change.
+    default void rename(T item, String oldName) {
+    }
+
+    // Returns an unmodifiable, point-in-time view of the list. The default copies the list; LinkedList and
+    // ArrayBackedList override it to share their storage with the snapshot in constant time and copy it on the
+    // next write instead.
+    default MyList<T> snapshot() {
+        return new ReadOnlyList<>(filter(item -> true));
+    }
+
     //Method to print expired items
     void printExpiredItems();
     
     //Method to print all items in the list 
     void printAllItems();
     
+    // Returns a sequential stream over the items in list order
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    // Returns a parallel stream over the items; splitting quality depends on the backend's spliterator
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
 }
 
@@ -35,12 +35,13 @@ public class Node {
 	}
 	
 	//Method to get the length of the linked list starting from this node 
+	//Walks the chain in a loop so very long lists cannot overflow the stack
 	public int getLength() {
-		if(next == null){
-			return 1; //base case
-		} else {
-			return 1 + next.getLength();
+		int length = 1;
+		for (Node current = next; current != null; current = current.next) {
+			length++;
 		}
+		return length;
 	}
 	
 	//To change which node comes after the current node 
@@ -8,7 +8,11 @@
  * Approach:
  * - PantryItem extends the abstract base class Item, inheriting fields like name, category, and unit.
  * - Additional fields specific to pantry items include quantity and expiration date.
+ * - The quantity is also kept in base units (see UnitRegistry), recomputed when the quantity or unit changes, so
+ *   covers(ingredient) compares two longs.
  * - Implements Comparable interface to allow sorting of pantry items based on their expiration dates.
+ * - The expiration date may be null for items that do not expire, e.g. rows saved as "null" and loaded back from
+ *   CSV. Such items never count as expired and sort after every dated item.
  * - Provides a utility method to check if an item has expired, which enhances management capabilities such as removal
  *   of expired items from inventory.
  * - Overrides methods like equals, hashCode, and toString from the Object class to ensure proper behavior when
@@ -17,18 +21,25 @@
  */
 
 import java.time.LocalDate; 
+import java.util.Comparator;
 import java.util.Objects;  
 
 //ADT Principle: Encapsulates pantry item data and behavior 
 //Inheritance: Pantry item extends item inheriting its methods and properties, so its not necessesary to declare those anymore
 public class PantryItem extends Item implements Comparable<PantryItem>{
+    //Property names passed to ItemListener.itemChanged
+    public static final String EXPIRATION_DATE = "expirationDate";
+    public static final String QUANTITY = "quantity";
+    
     private LocalDate expirationDate;
     private int quantity;
+    private long baseQuantity; // quantity in base units of its dimension
 
     //Constructor
     public PantryItem(String name, int quantity, String category, String unit, LocalDate expirationDate) {
         super(name,category, unit);
         this.quantity = quantity;
+        this.baseQuantity = getMeasure().toBase(quantity);
         this.expirationDate = expirationDate;
     }
 
@@ -38,6 +49,21 @@ public class PantryItem extends Item implements Comparable<PantryItem>{
     	return quantity;
     }
     
+    // Returns the quantity in base units of its dimension, see UnitRegistry
+    public long getBaseQuantity() {
+    	return baseQuantity;
+    }
+    
+    // Returns true if this item holds at least the ingredient's quantity in a compatible unit
+    public boolean covers(Ingredient ingredient) {
+    	return covers(ingredient.getMeasure(), ingredient.getBaseQuantity());
+    }
+    
+    // Returns true if this item holds at least baseQuantity of a compatible unit
+    public boolean covers(UnitRegistry.Unit measure, long baseQuantity) {
+    	return getMeasure().isCompatible(measure) && this.baseQuantity >= baseQuantity;
+    }
+    
     // Returns the expiration date of the item
     public LocalDate getExpirationDate() {
     	return expirationDate;
@@ -46,17 +72,28 @@ public class PantryItem extends Item implements Comparable<PantryItem>{
     //Setters 
     // Sets a new expiration date
     public void setExpirationDate(LocalDate expirationDate) {
+        LocalDate oldDate = this.expirationDate;
         this.expirationDate = expirationDate;
+        fireChanged(EXPIRATION_DATE, oldDate);
     }
 
     // Sets a new quantity of the item
     public void setQuantity(int quantity) {
+    	int oldQuantity = this.quantity;
     	this.quantity = quantity;
+    	this.baseQuantity = getMeasure().toBase(quantity);
+    	fireChanged(QUANTITY, oldQuantity);
+    }
+    
+    // Recomputes the base quantity after the unit changed
+    @Override
+    protected void unitChanged() {
+    	baseQuantity = getMeasure().toBase(quantity);
     }
     
-    // Checks if the item is expired
+    // Checks if the item is expired; an item without an expiration date never is
     public boolean checkExpiration() {
-    	return LocalDate.now().isAfter(expirationDate);
+    	return expirationDate != null && LocalDate.now().isAfter(expirationDate);
     }
 
     // Sets a new category (inherited from Item)
@@ -65,10 +102,11 @@ public class PantryItem extends Item implements Comparable<PantryItem>{
 		
 	}
 	
-    // Compares this PantryItem with another based on expiration date for sorting
+    // Compares this PantryItem with another based on expiration date for sorting, undated items last
 	@Override
     public int compareTo(PantryItem other) {
-        return this.expirationDate.compareTo(other.expirationDate);
+        return Objects.compare(this.expirationDate, other.expirationDate,
+                Comparator.nullsLast(Comparator.naturalOrder()));
     }
 	
     // Checks if two PantryItems are equal based on inherited and PantryItem-specific fields
@@ -77,7 +115,7 @@ public class PantryItem extends Item implements Comparable<PantryItem>{
         if (!super.equals(obj)) return false;
         if (!(obj instanceof PantryItem)) return false;
         PantryItem other = (PantryItem) obj;
-        return this.expirationDate.equals(other.expirationDate);
+        return Objects.equals(this.expirationDate, other.expirationDate);
     }
 
     // Returns a hash code for this PantryItem
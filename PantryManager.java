@@ -6,12 +6,27 @@
  * ensuring standardized management operations for PantryItem objects.
  *
  * Approach:
- * - The PantryManager uses a LinkedList to store PantryItem objects, allowing dynamic management
- *   of pantry inventory without predefined size constraints.
+ * - The PantryManager stores PantryItem objects in a MyList, a LinkedList by default or any other backend
+ *   chosen through the constructor (see ListBackend), allowing dynamic management of pantry inventory
+ *   without predefined size constraints.
  * - It provides methods to add and remove items based on unique identifiers, to retrieve single items,
  *   and to filter items based on custom conditions using Predicate.
  * - The class also supports operations to print all items, print only expired items, and save or load
  *   items to and from a CSV file format for persistence.
+ * - An ExpirationIndex keeps items sorted by expiration date, so expired, date-range and next-to-expire
+ *   queries read one clock value and cost O(log n) plus the number of items returned.
+ * - An optional ExpirationScheduler pushes warning and expiration events instead of polling. The manager
+ *   listens to its items, so setExpirationDate on an item reschedules it even without updateItem.
+ * - A CategoryIndex groups items by category, so category listings cost O(result) and counts O(1). It follows
+ *   Item.setCategory through the same listener.
+ * - Items are also indexed by Item.getMatchKey, so findMatch pairs recipe ingredients with pantry items
+ *   regardless of case, spacing or plural endings.
+ * - Match-key listeners are told the match key of every item that is added, removed, renamed or changes
+ *   quantity or unit, so a RecipeManager can keep its cookable recipes current without rescanning the pantry.
+ * - A PrefixIndex over item names backs autocomplete() and name-prefix queries, and follows Item.setName.
+ * - query(ItemQuery) runs structured queries through a QueryPlanner that picks the most selective of the
+ *   name, name-prefix, category and expiration indexes and filters the rest; explain() shows the chosen path.
+ *   The name paths read a CategoryIndex keyed by name, so they return every item with a name, like a full scan.
  * - Each method is designed to handle typical pantry management tasks such as checking item expiration,
  *   updating quantities, and categorizing items, which are essential for effective kitchen inventory management.
  */
@@ -19,29 +34,50 @@
 
 import java.io.File;
 import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 //Interaction: Accesses and modifies PantryItem objects, interacts with data storage. 
 public class PantryManager implements ItemManager<PantryItem> {
-    private LinkedList<PantryItem> pantryItems = new LinkedList<>();
+    private MyList<PantryItem> pantryItems;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD; // Minimum size at which filters run in parallel
+    private ExpirationIndex expirationIndex = new ExpirationIndex(); // Items sorted by expiration date
+    private CategoryIndex<PantryItem> categoryIndex = new CategoryIndex<>(); // Items grouped by category
+    private CategoryIndex<PantryItem> matchKeyIndex = new CategoryIndex<>(Item::getMatchKey); // Items by match key
+    private PrefixIndex nameCompletions = new PrefixIndex(); // Item names for type-ahead search
+    private CategoryIndex<PantryItem> nameIndex = new CategoryIndex<>(Item::getName); // Every item under each name
+    private ExpirationScheduler expirationScheduler; // Optional, pushes expiration events for the items
+    private final ItemListener itemListener = this::itemChanged; // Registered on every item in the pantry
+    private final List<Consumer<String>> matchKeyListeners = new ArrayList<>(); // Told which match keys changed
+    private final QueryPlanner<PantryItem> queryPlanner = createQueryPlanner();
 
  // Constructor
     public PantryManager() {
-        this.pantryItems = new LinkedList<>();
+        this(ListBackend.LINKED);
+    }
+    
+    // Constructor that builds the pantry on the chosen list backend
+    public PantryManager(ListBackend backend) {
+        this(backend.<PantryItem>create());
+    }
+    
+    // Constructor that uses the given, empty list as the backing store
+    public PantryManager(MyList<PantryItem> backingList) {
+        pantryItems = backingList;
+        for (PantryItem item : pantryItems) {
+            track(item);
+        }
     }
     
     //Getters
-    //Retrieves a pantry item from the LinkedList by identifier
+    //Retrieves a pantry item from the LinkedList by identifier through its name index
     @Override
     public PantryItem getItem(Object identifier) {
         if (identifier instanceof String) {
-            String name = (String) identifier;
-            for (int i = 0; i < pantryItems.size(); i++) {
-                PantryItem item = pantryItems.get(i);  // Assuming get(i) method returns the item at index i
-                if (item.getName().equals(name)) {
-                    return item;
-                }
-            }
+            return pantryItems.find(identifier);
         }
         return null;
     }
@@ -61,25 +97,213 @@ public class PantryManager implements ItemManager<PantryItem> {
     // Filters PantryItems in the LinkedList based on a Predicate
     @Override
     public MyList<PantryItem> getItems(Predicate<PantryItem> filter) {
+        if (pantryItems.size() >= parallelThreshold) {
+            return pantryItems.parallelFilter(filter);
+        }
         return pantryItems.filter(filter);
     }
     
+    // Sets the size from which getItems(Predicate) tests items on the fork/join pool
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+    
     //Adds pantry item to the linked list
     @Override
     public void addItem(PantryItem item) {
         pantryItems.add(item);
+        track(item);
     }
 
     //Removes a pantry item from the linked list by identifier 
     @Override
     public void removeItem(Object identifier) {
-        pantryItems.remove(identifier);  // Assuming id can be used as an identifier here
+        PantryItem item = pantryItems.find(identifier);
+        if (item != null && pantryItems.remove(identifier)) {
+            untrack(item);
+        }
     }
     
-    // Updates a PantryItem in the LinkedList
+    // Updates a PantryItem in the LinkedList and re-indexes it, since its expiration date may have changed
     @Override
     public void updateItem(PantryItem updatedItem) {
+        PantryItem previous = pantryItems.find(updatedItem.getName());
         pantryItems.updateItem(updatedItem);
+        if (previous != null) {
+            untrack(previous);
+        }
+        track(updatedItem);
+    }
+    
+    // Attaches a scheduler that gets every current and future pantry item, and is rescheduled whenever an
+    // item's expiration date changes. Pass null to detach it.
+    public void setExpirationScheduler(ExpirationScheduler scheduler) {
+        if (expirationScheduler != null) {
+            for (PantryItem item : pantryItems) {
+                expirationScheduler.cancel(item);
+            }
+        }
+        expirationScheduler = scheduler;
+        if (scheduler != null) {
+            for (PantryItem item : pantryItems) {
+                scheduler.schedule(item);
+            }
+        }
+    }
+    
+    // Registers the name, name-prefix, category and expiration indexes as access paths for structured queries
+    private QueryPlanner<PantryItem> createQueryPlanner() {
+        QueryPlanner<PantryItem> planner = new QueryPlanner<>(() -> pantryItems, PantryItem::getQuantity);
+        planner.addAccessPath(new QueryPlanner.AccessPath<PantryItem>() {
+            public String name() { return "name-index"; }
+            public ItemQuery.Field field() { return ItemQuery.Field.NAME; }
+            public int estimate(ItemQuery query, int cap) { return nameIndex.count(query.getName()); }
+            public Iterable<PantryItem> candidates(ItemQuery query) { return nameIndex.getItems(query.getName()); }
+        });
+        planner.addAccessPath(new QueryPlanner.AccessPath<PantryItem>() {
+            public String name() { return "name-prefix-index"; }
+            public ItemQuery.Field field() { return ItemQuery.Field.NAME_PREFIX; }
+            public int estimate(ItemQuery query, int cap) { return nameCompletions.count(query.getNamePrefix()); }
+            public Iterable<PantryItem> candidates(ItemQuery query) {
+                MyList<PantryItem> items = new ArrayBackedList<>();
+                for (String name : nameCompletions.complete(query.getNamePrefix(), Integer.MAX_VALUE)) {
+                    for (PantryItem item : nameIndex.getItems(name)) {
+                        items.add(item);
+                    }
+                }
+                return items;
+            }
+        });
+        planner.addAccessPath(new QueryPlanner.AccessPath<PantryItem>() {
+            public String name() { return "category-index"; }
+            public ItemQuery.Field field() { return ItemQuery.Field.CATEGORY; }
+            public int estimate(ItemQuery query, int cap) { return categoryIndex.count(query.getCategory()); }
+            public Iterable<PantryItem> candidates(ItemQuery query) { return categoryIndex.getItems(query.getCategory()); }
+        });
+        planner.addAccessPath(new QueryPlanner.AccessPath<PantryItem>() {
+            public String name() { return "expiration-index"; }
+            public ItemQuery.Field field() { return ItemQuery.Field.EXPIRATION; }
+            public int estimate(ItemQuery query, int cap) {
+                return expirationIndex.countBetween(query.getExpiresFrom(), query.getExpiresTo(), cap);
+            }
+            public Iterable<PantryItem> candidates(ItemQuery query) {
+                return expirationIndex.expiringBetween(query.getExpiresFrom(), query.getExpiresTo());
+            }
+        });
+        return planner;
+    }
+    
+    // Starts keeping the indexes and the scheduler current for an item
+    private void track(PantryItem item) {
+        item.removeListener(itemListener);
+        item.addListener(itemListener);
+        expirationIndex.refresh(item);
+        categoryIndex.add(item);
+        matchKeyIndex.add(item);
+        nameCompletions.add(item.getName());
+        nameIndex.add(item);
+        if (expirationScheduler != null) {
+            expirationScheduler.schedule(item);
+        }
+        fireMatchKeyChanged(item.getMatchKey());
+    }
+    
+    // Stops tracking an item that left the pantry
+    private void untrack(PantryItem item) {
+        item.removeListener(itemListener);
+        expirationIndex.remove(item);
+        categoryIndex.remove(item);
+        matchKeyIndex.remove(item);
+        nameCompletions.remove(item.getName());
+        nameIndex.remove(item);
+        if (expirationScheduler != null) {
+            expirationScheduler.cancel(item);
+        }
+        fireMatchKeyChanged(item.getMatchKey());
+    }
+    
+    // Called when an item in the pantry is changed through its setters
+    private void itemChanged(Item item, String property, Object oldValue) {
+        PantryItem pantryItem = (PantryItem) item;
+        if (PantryItem.EXPIRATION_DATE.equals(property) || Item.NAME.equals(property)) {
+            expirationIndex.refresh(pantryItem);
+        }
+        if (Item.NAME.equals(property)) {
+            pantryItems.rename(pantryItem, (String) oldValue);
+            nameCompletions.rename((String) oldValue, pantryItem.getName());
+            nameIndex.refresh(pantryItem);
+            matchKeyIndex.refresh(pantryItem);
+            fireMatchKeyChanged(MatchKey.of((String) oldValue));
+            fireMatchKeyChanged(pantryItem.getMatchKey());
+        }
+        if (PantryItem.EXPIRATION_DATE.equals(property) && expirationScheduler != null) {
+            expirationScheduler.schedule(pantryItem);
+        }
+        if (Item.CATEGORY.equals(property)) {
+            categoryIndex.refresh(pantryItem);
+        }
+        if (PantryItem.QUANTITY.equals(property) || Item.UNIT.equals(property)) {
+            fireMatchKeyChanged(pantryItem.getMatchKey());
+        }
+    }
+    
+    // Tells the match-key listeners that the pantry items with this match key changed
+    private void fireMatchKeyChanged(String matchKey) {
+        for (Consumer<String> listener : matchKeyListeners) {
+            listener.accept(matchKey);
+        }
+    }
+
+    // Registers a listener that is called with the match key of every item that is added, removed, renamed
+    // or changes quantity or unit. findMatch then returns the pantry's current item for that key.
+    public void addMatchKeyListener(Consumer<String> listener) {
+        matchKeyListeners.add(listener);
+    }
+
+    // Unregisters a match-key listener
+    public void removeMatchKeyListener(Consumer<String> listener) {
+        matchKeyListeners.remove(listener);
+    }
+
+    // Returns the pantry item that matches an ingredient or other item by normalized name, or null.
+    // "Eggs" finds "egg" and "Olive  oil" finds "olive oil"; this is a single hash lookup.
+    public PantryItem findMatch(Item item) {
+        return findByMatchKey(item.getMatchKey());
+    }
+    
+    // Returns the pantry item filed under a match key, or null
+    public PantryItem findByMatchKey(String matchKey) {
+        return matchKeyIndex.first(matchKey);
+    }
+    
+    // Returns up to k item names starting with prefix (ignoring case), in alphabetical order
+    public List<String> autocomplete(String prefix, int k) {
+        return nameCompletions.complete(prefix, k);
+    }
+    
+    // Returns the items in a category, in the order they were added
+    public MyList<PantryItem> getItemsByCategory(String category) {
+        return categoryIndex.getItems(category);
+    }
+    
+    // Returns the number of items in a category
+    public int countByCategory(String category) {
+        return categoryIndex.count(category);
+    }
+    
+    // Returns the categories that currently have items
+    public List<String> getCategories() {
+        return categoryIndex.getCategories();
+    }
+
+    // Runs a structured query through the most selective index that applies
+    public MyList<PantryItem> query(ItemQuery query) {
+        return queryPlanner.plan(query).execute();
+    }
+    
+    // Describes the access path and residual filter query() would use
+    public String explain(ItemQuery query) {
+        return queryPlanner.plan(query).explain();
     }
 
     // Prints all PantryItems
@@ -91,22 +315,32 @@ public class PantryManager implements ItemManager<PantryItem> {
     }
     }
     
-    // Prints all expired PantryItems
+    // Prints all expired PantryItems, soonest expired first
     public void printExpiredItems() {
-        for (int i = 0; i < pantryItems.size(); i++) {
-            PantryItem item = pantryItems.get(i);
-            if (item.checkExpiration()) {
-                System.out.println(item);
-            }
+        for (PantryItem item : getExpiredItems()) {
+            System.out.println(item);
         }
     }
     
+    // Returns the items that have expired as of today, read from the expiration index
+    public MyList<PantryItem> getExpiredItems() {
+        return expirationIndex.expired(LocalDate.now());
+    }
+    
+    // Returns the items expiring between from and to, both inclusive, soonest first
+    public MyList<PantryItem> getItemsExpiringBetween(LocalDate from, LocalDate to) {
+        return expirationIndex.expiringBetween(from, to);
+    }
+    
+    // Returns up to k items that have not expired yet, soonest to expire first
+    public MyList<PantryItem> getNextToExpire(int k) {
+        return expirationIndex.nextToExpire(LocalDate.now(), k);
+    }
+    
     // Method to save pantry items to a CSV file
     public void saveToCSV(String filePath) {
         try (PrintWriter writer = new PrintWriter(new File(filePath))) {
-            MyList<PantryItem> allItems = getAllItems();
-            for (int i = 0; i < allItems.size(); i++) {
-                PantryItem item = allItems.get(i);
+            for (PantryItem item : snapshot()) {
                 String line = String.format("%s,%d,%s,%s,%s\n",
                     item.getName(),
                     item.getQuantity(),
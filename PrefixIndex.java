@@ -0,0 +1,129 @@
+/*
+ * PrefixIndex Class
+ *
+ * This class is a trie over names used for type-ahead search. Names are added and removed one at a time as items
+ * and recipes come and go, and complete(prefix, k) returns the first k names that start with the prefix in
+ * alphabetical order, visiting only the prefix's path and the branches that lead to those k names.
+ *
+ * Approach:
+ * - Matching ignores case: the trie is keyed on the lower-cased name, and each terminal node keeps the original
+ *   spellings that end there with how many times each was added, so duplicate names are counted.
+ * - Every node stores how many names live in its subtree. Branches whose count drops to zero are unlinked on
+ *   removal, so the walk never visits empty branches, and count(prefix) is answered in O(prefix length).
+ * - Children are kept in a TreeMap so a depth-first walk yields names in alphabetical order.
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class PrefixIndex {
+    private final TrieNode root = new TrieNode();
+
+    // One character position in the trie
+    private static final class TrieNode {
+        final TreeMap<Character, TrieNode> children = new TreeMap<>();
+        TreeMap<String, Integer> names; // Original spellings ending here, with their counts
+        int subtreeCount; // Number of names in this node and below
+    }
+
+    // Adds one occurrence of a name
+    public void add(String name) {
+        if (name == null) {
+            return;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        TrieNode node = root;
+        node.subtreeCount++;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new TrieNode());
+            node.subtreeCount++;
+        }
+        if (node.names == null) {
+            node.names = new TreeMap<>();
+        }
+        node.names.merge(name, 1, Integer::sum);
+    }
+
+    // Removes one occurrence of a name. Returns false if the name was not in the index.
+    public boolean remove(String name) {
+        if (name == null) {
+            return false;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        TrieNode node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null || node.names == null || !node.names.containsKey(name)) {
+            return false;
+        }
+        node.names.computeIfPresent(name, (spelling, count) -> count == 1 ? null : count - 1);
+        if (node.names.isEmpty()) {
+            node.names = null;
+        }
+        node = root;
+        node.subtreeCount--;
+        for (int i = 0; i < key.length(); i++) {
+            TrieNode child = node.children.get(key.charAt(i));
+            if (--child.subtreeCount == 0) {
+                node.children.remove(key.charAt(i));
+                return true;
+            }
+            node = child;
+        }
+        return true;
+    }
+
+    // Replaces one occurrence of oldName with newName, e.g. after Item.setName
+    public void rename(String oldName, String newName) {
+        if (remove(oldName)) {
+            add(newName);
+        }
+    }
+
+    // Returns up to k names starting with prefix (ignoring case), in alphabetical order
+    public List<String> complete(String prefix, int k) {
+        List<String> result = new ArrayList<>();
+        TrieNode node = find(prefix);
+        if (node != null && k > 0) {
+            collect(node, k, result);
+        }
+        return result;
+    }
+
+    // Returns how many names start with prefix (ignoring case)
+    public int count(String prefix) {
+        TrieNode node = find(prefix);
+        return node == null ? 0 : node.subtreeCount;
+    }
+
+    // Walks down to the node for a prefix, or returns null if no name starts with it
+    private TrieNode find(String prefix) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        TrieNode node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    // Depth-first walk that stops as soon as k names were collected
+    private static void collect(TrieNode node, int k, List<String> result) {
+        if (node.names != null) {
+            for (String name : node.names.keySet()) {
+                if (result.size() >= k) {
+                    return;
+                }
+                result.add(name);
+            }
+        }
+        for (Map.Entry<Character, TrieNode> child : node.children.entrySet()) {
+            if (result.size() >= k) {
+                return;
+            }
+            collect(child.getValue(), k, result);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * QueryPlanner Class
+ *
+ * This class picks how an ItemQuery is executed. A manager registers one AccessPath per index it keeps (name,
+ * category, expiration, ...). For each query the planner asks every path that can answer one of the query's
+ * conditions how many candidates it would produce, takes the most selective one, and checks the remaining
+ * conditions on those candidates as a residual filter. When no index applies it falls back to a full scan.
+ *
+ * Approach:
+ * - AccessPath.estimate receives the best estimate found so far as a cap, so paths whose exact count would cost a
+ *   walk (such as a date range) can stop counting as soon as they are no better.
+ * - The plan records the chosen path, its estimate and the residual conditions, and explain() prints them.
+ * - Candidates are re-checked against the whole query, which keeps results correct even when an index is
+ *   coarser than its condition.
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+public class QueryPlanner<T extends Item> {
+    private final List<AccessPath<T>> accessPaths = new ArrayList<>();
+    private final Supplier<MyList<T>> fullScan;
+    private final ToIntFunction<? super T> quantity;
+
+    // A way to produce candidate items for one query condition, usually backed by an index
+    public interface AccessPath<T> {
+        // Short name shown by explain(), e.g. "category-index"
+        String name();
+
+        // The condition this path answers
+        ItemQuery.Field field();
+
+        // Number of candidates the path would return for the query, or any value >= cap if that is not smaller
+        int estimate(ItemQuery query, int cap);
+
+        // The candidates for the query
+        Iterable<T> candidates(ItemQuery query);
+    }
+
+    // The chosen way to run one query
+    public static class QueryPlan<T extends Item> {
+        private final ItemQuery query;
+        private final AccessPath<T> path; // null for a full scan
+        private final int estimate;
+        private final QueryPlanner<T> planner;
+
+        private QueryPlan(QueryPlanner<T> planner, ItemQuery query, AccessPath<T> path, int estimate) {
+            this.planner = planner;
+            this.query = query;
+            this.path = path;
+            this.estimate = estimate;
+        }
+
+        // Runs the plan and returns the matching items
+        public MyList<T> execute() {
+            Iterable<T> candidates = path == null ? planner.fullScan.get() : path.candidates(query);
+            ArrayBackedList<T> result = new ArrayBackedList<>();
+            for (T item : candidates) {
+                if (query.matches(item, planner.quantity)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+
+        // Returns a one-line description of the access path and the residual filter
+        public String explain() {
+            StringBuilder builder = new StringBuilder();
+            if (path == null) {
+                builder.append("full-scan");
+            } else {
+                builder.append(path.name()).append('(').append(query.describe(path.field())).append(')');
+            }
+            builder.append(", estimated rows=").append(estimate);
+            List<String> residual = query.describeExcept(path == null ? null : path.field());
+            builder.append(", residual=").append(residual.isEmpty() ? "none" : String.join(" AND ", residual));
+            return builder.toString();
+        }
+
+        @Override
+        public String toString() {
+            return explain();
+        }
+    }
+
+    // Constructor. fullScan returns every item; quantity reads the quantity condition's field.
+    public QueryPlanner(Supplier<MyList<T>> fullScan, ToIntFunction<? super T> quantity) {
+        this.fullScan = fullScan;
+        this.quantity = quantity;
+    }
+
+    // Registers an access path the planner may choose
+    public void addAccessPath(AccessPath<T> path) {
+        accessPaths.add(path);
+    }
+
+    // Picks the access path with the fewest estimated candidates
+    public QueryPlan<T> plan(ItemQuery query) {
+        AccessPath<T> best = null;
+        int bestEstimate = fullScan.get().size();
+        for (AccessPath<T> path : accessPaths) {
+            if (!query.has(path.field())) {
+                continue;
+            }
+            int estimate = path.estimate(query, bestEstimate);
+            if (estimate < bestEstimate || best == null && estimate <= bestEstimate) {
+                best = path;
+                bestEstimate = estimate;
+            }
+        }
+        return new QueryPlan<>(this, query, best, bestEstimate);
+    }
+}
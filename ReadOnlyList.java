@@ -0,0 +1,110 @@
+/*
+ * ReadOnlyList Class
+ *
+ * This class is an unmodifiable MyList view. It is what snapshot() hands out: readers can get, find, filter, iterate
+ * and print, while add, remove and updateItem throw UnsupportedOperationException.
+ *
+ * Approach:
+ * - Every read is forwarded to the list returned by delegate(). Subclasses that build their contents lazily, such
+ *   as the snapshots of ConcurrentItemManager, override delegate() instead of passing a list to the constructor.
+ * - filter returns a new list of the delegate's type, which the caller owns and may modify.
+ */
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+
+public class ReadOnlyList<T> implements MyList<T> {
+    private final MyList<T> delegate;
+
+    // Constructor wrapping an existing list
+    public ReadOnlyList(MyList<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    // Constructor for subclasses that override delegate()
+    protected ReadOnlyList() {
+        this.delegate = null;
+    }
+
+    // Returns the list that reads are forwarded to
+    protected MyList<T> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void add(T item) {
+        throw new UnsupportedOperationException("List is read-only");
+    }
+
+    @Override
+    public T get(Object identifier) {
+        return delegate().get(identifier);
+    }
+
+    @Override
+    public int size() {
+        return delegate().size();
+    }
+
+    @Override
+    public boolean remove(Object identifier) {
+        throw new UnsupportedOperationException("List is read-only");
+    }
+
+    @Override
+    public T find(Object identifier) {
+        return delegate().find(identifier);
+    }
+
+    @Override
+    public MyList<T> filter(Predicate<T> predicate) {
+        return delegate().filter(predicate);
+    }
+
+    @Override
+    public MyList<T> parallelFilter(Predicate<T> predicate) {
+        return delegate().parallelFilter(predicate);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return delegate().spliterator();
+    }
+
+    @Override
+    public void updateItem(T updatedItem) {
+        throw new UnsupportedOperationException("List is read-only");
+    }
+
+    // A read-only list cannot change, so it is its own snapshot
+    @Override
+    public MyList<T> snapshot() {
+        return this;
+    }
+
+    @Override
+    public void printExpiredItems() {
+        delegate().printExpiredItems();
+    }
+
+    @Override
+    public void printAllItems() {
+        delegate().printAllItems();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> items = delegate().iterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return items.next();
+            }
+        };
+    }
+}
@@ -5,23 +5,39 @@
  * behaviors associated with a culinary recipe, such as adding or removing ingredients.
  *
  * Approach:
- * - The Recipe class maintains a list of Ingredient objects, reflecting the ingredients needed to prepare the recipe.
+ * - The Recipe class keeps its ingredients as packed (ingredient id, quantity) pairs in one int array. The name,
+ *   category and unit of each ingredient live once in the shared IngredientCatalog, so large recipe collections
+ *   do not repeat them per recipe, and matching can read ids and quantities without creating objects.
+ * - getIngredients() returns a live List view, like the list the recipe used to hand out: adding, replacing and
+ *   removing through it changes the recipe. Its elements are materialized from the catalog on each read, so
+ *   changing an Ingredient object taken from it does not change the recipe; set it back through the list instead.
+ * - removeIngredient() compares names with equals, where the list-based version compared references with ==.
  * - It provides methods for adding and removing ingredients to and from the recipe, supporting dynamic recipe management.
+ * - Change listeners are told whenever the ingredients change, so a RecipeManager can re-index the recipe.
  * - The toString method is overridden to provide a detailed string representation of the recipe, which includes
  *   the recipe name and a list of all its ingredients, facilitating easy printing and viewing of recipe details.
  */
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 //ADT Principle: Represents recipe data and behaviors
 public class Recipe {
+    private static final int[] NO_INGREDIENTS = new int[0];
+
     private String name;
-    private List<Ingredient> ingredients;
+    private int[] ingredients = NO_INGREDIENTS; // Catalog id at 2 * i, quantity at 2 * i + 1
+    private int ingredientCount;
+    private List<Consumer<Recipe>> listeners; // Created on first registration, most recipes have none
+    private final IngredientList ingredientList = new IngredientList(); // Live view returned by getIngredients
 
     // Constructor to initialize the recipe with a name
     public Recipe(String name) {
         this.name = name;
-        this.ingredients = new ArrayList<>();
     }
    
     // Returns the name of the recipe
@@ -29,19 +45,144 @@ public class Recipe {
         return name;
     }
 
-    // Returns a list of all ingredients in the recipe
+    // Returns a live list of all ingredients in the recipe; changes made through it change the recipe
     public List<Ingredient> getIngredients() {
-        return ingredients;
+        return ingredientList;
+    }
+    
+    // Returns the number of ingredients
+    public int getIngredientCount() {
+        return ingredientCount;
+    }
+    
+    // Returns the IngredientCatalog id of the ingredient at a position
+    public int getIngredientId(int index) {
+        checkIndex(index);
+        return ingredients[2 * index];
+    }
+    
+    // Returns the quantity of the ingredient at a position
+    public int getQuantity(int index) {
+        checkIndex(index);
+        return ingredients[2 * index + 1];
     }
     
     // Adds an ingredient to the recipe
     public void addIngredient(Ingredient ingredient) {
-        ingredients.add(ingredient);
+        ingredientList.add(ingredient);
     }
 
-    // Removes an ingredient from the recipe by name
+    // Removes the ingredients named like the recipe
     public void removeIngredient() {
-        ingredients.removeIf(ingredient -> ingredient.getName() == name);
+        ingredientList.removeNamed(name);
+    }
+    
+    // The list returned by getIngredients. Reads materialize Ingredient copies from the catalog; add, set and
+    // remove write through to the packed array and tell the change listeners.
+    private final class IngredientList extends AbstractList<Ingredient> implements RandomAccess {
+        @Override
+        public Ingredient get(int index) {
+            checkIndex(index);
+            return IngredientCatalog.materialize(ingredients[2 * index], ingredients[2 * index + 1]);
+        }
+
+        @Override
+        public int size() {
+            return ingredientCount;
+        }
+
+        @Override
+        public Ingredient set(int index, Ingredient ingredient) {
+            Ingredient previous = get(index);
+            ingredients[2 * index] = IngredientCatalog.idOf(ingredient);
+            ingredients[2 * index + 1] = ingredient.getQuantity();
+            fireChanged();
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Ingredient ingredient) {
+            if (index < 0 || index > ingredientCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + ingredientCount);
+            }
+            int id = IngredientCatalog.idOf(ingredient);
+            if (2 * ingredientCount == ingredients.length) {
+                ingredients = Arrays.copyOf(ingredients, Math.max(4, ingredients.length * 2));
+            }
+            System.arraycopy(ingredients, 2 * index, ingredients, 2 * index + 2, 2 * (ingredientCount - index));
+            ingredients[2 * index] = id;
+            ingredients[2 * index + 1] = ingredient.getQuantity();
+            ingredientCount++;
+            modCount++;
+            fireChanged();
+        }
+
+        @Override
+        public Ingredient remove(int index) {
+            Ingredient removed = get(index);
+            System.arraycopy(ingredients, 2 * index + 2, ingredients, 2 * index, 2 * (ingredientCount - index - 1));
+            ingredientCount--;
+            modCount++;
+            fireChanged();
+            return removed;
+        }
+
+        // Removes every ingredient with the given name in one pass
+        void removeNamed(String ingredientName) {
+            int kept = 0;
+            for (int i = 0; i < ingredientCount; i++) {
+                if (!Objects.equals(IngredientCatalog.getName(ingredients[2 * i]), ingredientName)) {
+                    ingredients[2 * kept] = ingredients[2 * i];
+                    ingredients[2 * kept + 1] = ingredients[2 * i + 1];
+                    kept++;
+                }
+            }
+            if (kept != ingredientCount) {
+                ingredientCount = kept;
+                modCount++;
+                fireChanged();
+            }
+        }
+    }
+    
+    // Registers a listener that is told after every change to the ingredients
+    public void addChangeListener(Consumer<Recipe> listener) {
+        if (listeners == null) {
+            listeners = new ArrayList<>(1);
+        }
+        listeners.add(listener);
+    }
+    
+    // Unregisters a listener added with addChangeListener
+    public void removeChangeListener(Consumer<Recipe> listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+    
+    // Tells the registered listeners that the ingredients changed
+    private void fireChanged() {
+        if (listeners == null) {
+            return;
+        }
+        for (Object listener : listeners.toArray()) {
+            @SuppressWarnings("unchecked")
+            Consumer<Recipe> changed = (Consumer<Recipe>) listener;
+            changed.accept(this);
+        }
+    }
+    
+    // Releases unused capacity, e.g. once a recipe is fully built
+    public void trimToSize() {
+        if (ingredients.length > 2 * ingredientCount) {
+            ingredients = ingredientCount == 0 ? NO_INGREDIENTS : Arrays.copyOf(ingredients, 2 * ingredientCount);
+        }
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= ingredientCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + ingredientCount);
+        }
     }
 
     // Provides a string representation of the recipe, including its name and ingredients
@@ -49,10 +190,9 @@ public class Recipe {
     public String toString() {
         StringBuilder builder = new StringBuilder();
         builder.append("Recipe Name:").append(name).append("\nIngredients:\n");
-        for(Ingredient ingredient : ingredients) {
+        for(Ingredient ingredient : getIngredients()) {
         	builder.append(ingredient).append("\n");
         }
         return builder.toString();
     }
 }
-
@@ -6,59 +6,480 @@
  * to check which recipes can be prepared with the ingredients available in the pantry.
  *
  * Approach:
- * - Recipes are stored in a List, facilitating efficient add, remove, and search operations.
- * - The addRecipe and removeRecipe methods manage the recipes in the list.
+ * - Recipes are stored in a LinkedHashMap keyed by recipe name, which keeps them in the order they were added
+ *   and makes getRecipe, removeRecipe and replaceRecipe constant time. Names are unique: adding a recipe with a
+ *   name that is already used replaces the earlier recipe.
  * - The findRecipe method utilizes Java's Stream API to filter recipes based on a given Predicate,
- *   allowing for flexible search queries.
- * - The matchIngredientsWithPantry method checks each recipe against available pantry items to determine
- *   if a recipe can be prepared with the current stock, supporting inventory management and planning.
+ *   allowing for flexible, ad-hoc search queries when the name is not known.
+ * - A PrefixIndex over recipe names answers type-ahead lookups through autocomplete().
+ * - When a pantry is attached, an inverted index maps each ingredient match key to the recipes that use it, and
+ *   every recipe keeps a count of its currently satisfied ingredients. The pantry reports which match keys
+ *   changed, so only the recipes using that ingredient are re-checked, and getCookableRecipes() returns the
+ *   recipes whose count equals their ingredient count in O(result).
+ * - Each recipe's ingredient ids, key ids and quantities are captured when it is indexed, so the index is always
+ *   unindexed and re-checked against what was filed. The manager listens to its recipes and re-indexes one as
+ *   soon as its ingredients change.
+ * - matchAll checks every recipe against a frozen copy of the pantry's stock and returns a RecipeMatch per recipe
+ *   with the satisfied, missing and short ingredients. The stock is read once from the live pantry list into a
+ *   per-match-key array, so the recipes can be matched in parallel on the fork/join pool once there are at
+ *   least parallelThreshold of them, without touching the live pantry.
+ * - Recipes hold packed IngredientCatalog ids, so the matching paths read ids, quantities and the catalog's
+ *   precomputed match keys and units without creating Ingredient objects; only RecipeMatch results do.
+ * - For bulk feasibility checks each recipe keeps the catalog key ids of its ingredients as a long[] bitset.
+ *   findMakeableRecipes builds the pantry's in-stock set as one bitset, rejects recipes with a word-wise AND
+ *   against it, and checks quantities only for the recipes that pass.
+ * - Quantities are compared in base units (see UnitRegistry), so 2 Kg in the pantry covers 500 g in a recipe.
+ * - closestToCookable ranks recipes by the cost of their missing and short ingredients, breaking ties by the
+ *   soonest expiration date among the pantry items they use. Recipes stream through a PriorityQueue bounded at k
+ *   whose head is the worst kept recipe, so memory stays O(k) however many recipes there are.
+ * - The matchIngredientsWithPantry method prints those results, supporting inventory management and planning.
  */
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 //Manages Recipe objects
 public class RecipeManager {
-    private List<Recipe> recipes;
+    private Map<String, Recipe> recipes; // Recipe name -> recipe, in the order they were added
+    private PrefixIndex nameCompletions = new PrefixIndex(); // Recipe names for type-ahead search
+    private int parallelThreshold = ItemManager.DEFAULT_PARALLEL_THRESHOLD; // Minimum recipes for parallel matching
+    private PantryManager pantryManager; // Pantry the cookable tracking follows, or null
+    private final Map<String, Set<RecipeStatus>> recipesByIngredient = new HashMap<>(); // Match key -> recipes
+    private final Map<Recipe, RecipeStatus> statuses = new IdentityHashMap<>(); // Tracking state per indexed recipe
+    private final Set<Recipe> cookable = new LinkedHashSet<>(); // Recipes whose ingredients are all satisfied
+    private final Consumer<String> pantryListener = this::pantryChanged;
+    private final Consumer<Recipe> recipeListener = this::refreshRecipe; // Registered on every stored recipe
+
+    // Which ingredients of one recipe the pantry currently satisfies. The ingredients are captured when the recipe
+    // is indexed, so later edits to the recipe cannot make the index disagree with what it filed.
+    private static final class RecipeStatus {
+        final Recipe recipe;
+        final int[] ingredientIds; // Catalog id per ingredient position
+        final int[] keyIds; // Catalog key id per ingredient position
+        final int[] quantities; // Quantity per ingredient position
+        final boolean[] satisfied; // Per ingredient position
+        long[] ingredientBits = new long[0]; // Bit i is set if the recipe uses the match key with catalog key id i
+        int satisfiedCount;
+
+        RecipeStatus(Recipe recipe) {
+            int count = recipe.getIngredientCount();
+            this.recipe = recipe;
+            this.ingredientIds = new int[count];
+            this.keyIds = new int[count];
+            this.quantities = new int[count];
+            this.satisfied = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                ingredientIds[i] = recipe.getIngredientId(i);
+                keyIds[i] = IngredientCatalog.getKeyId(ingredientIds[i]);
+                quantities[i] = recipe.getQuantity(i);
+            }
+        }
+    }
+
+    // The quantity of one pantry item, copied so matching does not read the live item
+    private static final class Stock {
+        final int quantity;
+        final String unit;
+        final UnitRegistry.Unit measure;
+        final long baseQuantity;
+        final long expirationDay; // Epoch day, or Long.MAX_VALUE if the item does not expire
+
+        Stock(PantryItem item) {
+            this.quantity = item.getQuantity();
+            this.unit = item.getUnit();
+            this.measure = item.getMeasure();
+            this.baseQuantity = item.getBaseQuantity();
+            LocalDate expirationDate = item.getExpirationDate();
+            this.expirationDay = expirationDate == null ? Long.MAX_VALUE : expirationDate.toEpochDay();
+        }
+
+        // Returns true if this stock covers a quantity of a catalog ingredient
+        boolean covers(int ingredientId, int quantity) {
+            UnitRegistry.Unit needed = IngredientCatalog.getMeasure(ingredientId);
+            return measure.isCompatible(needed) && baseQuantity >= needed.toBase(quantity);
+        }
+    }
+
+    // A recipe's score while ranking: lower shortfall first, then the sooner expiring pantry item used
+    private static final class Ranked {
+        static final Comparator<Ranked> BEST_FIRST = Comparator.<Ranked>comparingLong(ranked -> ranked.shortfall)
+                .thenComparingLong(ranked -> ranked.soonestExpiration)
+                .thenComparingInt(ranked -> ranked.position);
+
+        final Recipe recipe;
+        final long shortfall;
+        final long soonestExpiration;
+        final int position; // Position in the recipe list, keeps equal scores in recipe order
+
+        Ranked(Recipe recipe, long shortfall, long soonestExpiration, int position) {
+            this.recipe = recipe;
+            this.shortfall = shortfall;
+            this.soonestExpiration = soonestExpiration;
+            this.position = position;
+        }
+    }
 
     //Constructor
     public RecipeManager() {
-    	recipes = new ArrayList<>();
+    	recipes = new LinkedHashMap<>();
+    }
+    
+    // Constructor that keeps the cookable recipes current with the given pantry
+    public RecipeManager(PantryManager pantryManager) {
+        this();
+        setPantryManager(pantryManager);
     }
     
-    // Adds recipe to the list 
+    // Adds a recipe, replacing any recipe with the same name
     public void addRecipe(Recipe recipe) {
-        recipes.add(recipe);
+        replaceRecipe(recipe);
+    }
+    
+    // Stores a recipe under its name and returns the recipe it replaced, or null
+    public Recipe replaceRecipe(Recipe recipe) {
+        Recipe previous = recipes.put(recipe.getName(), recipe);
+        if (previous == null) {
+            nameCompletions.add(recipe.getName());
+        } else {
+            previous.removeChangeListener(recipeListener);
+            unindex(previous);
+        }
+        recipe.addChangeListener(recipeListener);
+        index(recipe);
+        return previous;
+    }
+    
+    // Returns the recipe with this name, or null
+    public Recipe getRecipe(String name) {
+        return recipes.get(name);
     }
 
-    // Removes a recipe from the list
+    // Removes a recipe if it is the one stored under its name
     public void removeRecipe(Recipe recipe) {
-    	recipes.remove(recipe);
+    	if (recipes.get(recipe.getName()) == recipe) {
+    		removeRecipe(recipe.getName());
+    	}
+    }
+    
+    // Removes the recipe with this name and returns it, or null if there is none
+    public Recipe removeRecipe(String name) {
+        Recipe removed = recipes.remove(name);
+        if (removed != null) {
+            nameCompletions.remove(name);
+            removed.removeChangeListener(recipeListener);
+            unindex(removed);
+        }
+        return removed;
+    }
+    
+    // Returns the number of recipes
+    public int size() {
+        return recipes.size();
+    }
+    
+    // Re-indexes a recipe whose ingredients changed after it was added. Stored recipes are re-indexed
+    // automatically; call this after editing a recipe in a way it does not report.
+    public void refreshRecipe(Recipe recipe) {
+        if (statuses.containsKey(recipe)) {
+            unindex(recipe);
+            index(recipe);
+        }
+    }
+    
+    // Attaches the pantry whose stock decides which recipes are cookable, replacing any previous one.
+    // Pass null to detach it; no recipe with ingredients is cookable then.
+    public void setPantryManager(PantryManager pantryManager) {
+        if (this.pantryManager != null) {
+            this.pantryManager.removeMatchKeyListener(pantryListener);
+        }
+        this.pantryManager = pantryManager;
+        if (pantryManager != null) {
+            pantryManager.addMatchKeyListener(pantryListener);
+        }
+        for (RecipeStatus status : statuses.values()) {
+            for (int i = 0; i < status.satisfied.length; i++) {
+                check(status, i);
+            }
+        }
+    }
+    
+    // Returns the recipes that can be cooked with the pantry's current stock, in the order they became cookable
+    public List<Recipe> getCookableRecipes() {
+        return Collections.unmodifiableList(new ArrayList<>(cookable));
+    }
+    
+    // Returns true if the pantry currently has every ingredient of the recipe in sufficient quantity
+    public boolean isCookable(Recipe recipe) {
+        return cookable.contains(recipe);
+    }
+    
+    // Returns up to k recipe names starting with prefix (ignoring case), in alphabetical order
+    public List<String> autocomplete(String prefix, int k) {
+        return nameCompletions.complete(prefix, k);
     }
     
     // Generic method to find a recipe based on a predicate
     public Recipe findRecipe(Predicate<Recipe> searchCriteria) {
-        return recipes.stream()
+        return recipes.values().stream()
         		.filter(searchCriteria)
         		.findFirst()
         		.orElse(null);
     }
     
-    // Checks which recipes can be fully prepared with the available pantry items
-    public void matchIngredientsWithPantry(PantryManager pantryManager) {
-        for (Recipe recipe : recipes) {
-            System.out.println("Checking ingredients for: " + recipe.getName());
-            for (Ingredient ingredient : recipe.getIngredients()) {
-                PantryItem pantryItem = pantryManager.getItem(ingredient.getName());
-                if (pantryItem != null && pantryItem.getQuantity() >= ingredient.getQuantity()) {
-                    System.out.println("Available in pantry: " + ingredient.getName());
-                } else {
-                    System.out.println("Not available or insufficient quantity in pantry for: " + ingredient.getName());
+    // Files a recipe under the match key of every ingredient and counts the satisfied ones
+    private void index(Recipe recipe) {
+        if (statuses.containsKey(recipe)) {
+            return;
+        }
+        RecipeStatus status = new RecipeStatus(recipe);
+        statuses.put(recipe, status);
+        for (int i = 0; i < status.satisfied.length; i++) {
+            int ingredientId = status.ingredientIds[i];
+            int keyId = status.keyIds[i];
+            if (keyId >>> 6 >= status.ingredientBits.length) {
+                status.ingredientBits = Arrays.copyOf(status.ingredientBits, (keyId >>> 6) + 1);
+            }
+            status.ingredientBits[keyId >>> 6] |= 1L << keyId;
+            recipesByIngredient.computeIfAbsent(IngredientCatalog.getMatchKey(ingredientId), key -> new LinkedHashSet<>())
+                    .add(status);
+            check(status, i);
+        }
+        updateCookable(status);
+    }
+    
+    // Removes a recipe from the inverted index
+    private void unindex(Recipe recipe) {
+        RecipeStatus status = statuses.remove(recipe);
+        if (status == null) {
+            return;
+        }
+        for (int i = 0; i < status.satisfied.length; i++) {
+            String matchKey = IngredientCatalog.getMatchKey(status.ingredientIds[i]);
+            Set<RecipeStatus> users = recipesByIngredient.get(matchKey);
+            if (users != null && users.remove(status) && users.isEmpty()) {
+                recipesByIngredient.remove(matchKey);
+            }
+        }
+        cookable.remove(recipe);
+    }
+    
+    // Called by the pantry with the match key of an item that was added, removed, renamed or changed quantity
+    private void pantryChanged(String matchKey) {
+        Set<RecipeStatus> users = recipesByIngredient.get(matchKey);
+        if (users == null) {
+            return;
+        }
+        int keyId = IngredientCatalog.findKeyId(matchKey);
+        for (RecipeStatus status : users) {
+            for (int i = 0; i < status.satisfied.length; i++) {
+                if (status.keyIds[i] == keyId) {
+                    check(status, i);
+                }
+            }
+        }
+    }
+    
+    // Re-checks one ingredient of a recipe against the pantry and updates the recipe's satisfied count
+    private void check(RecipeStatus status, int position) {
+        int ingredientId = status.ingredientIds[position];
+        PantryItem pantryItem = pantryManager == null ? null
+                : pantryManager.findByMatchKey(IngredientCatalog.getMatchKey(ingredientId));
+        UnitRegistry.Unit measure = IngredientCatalog.getMeasure(ingredientId);
+        boolean satisfied = pantryItem != null
+                && pantryItem.covers(measure, measure.toBase(status.quantities[position]));
+        if (satisfied == status.satisfied[position]) {
+            return;
+        }
+        status.satisfied[position] = satisfied;
+        status.satisfiedCount += satisfied ? 1 : -1;
+        updateCookable(status);
+    }
+    
+    // Adds or removes a recipe from the cookable set after its satisfied count changed
+    private void updateCookable(RecipeStatus status) {
+        if (status.satisfiedCount == status.satisfied.length) {
+            cookable.add(status.recipe);
+        } else {
+            cookable.remove(status.recipe);
+        }
+    }
+    
+    // Sets the number of recipes at or above which matchAll runs in parallel
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    // Matches every recipe against the pantry's current stock and returns one result per recipe, in recipe order
+    public List<RecipeMatch> matchAll(PantryManager pantryManager) {
+        Stock[] stock = readStock(pantryManager);
+        Stream<Recipe> stream = recipeStream();
+        return stream.map(recipe -> match(recipe, stock)).collect(Collectors.toList());
+    }
+    
+    // Returns the recipes the pantry can make right now, in recipe order. Built for large recipe collections:
+    // recipes are rejected by comparing ingredient bitsets, and quantities are only checked for the rest.
+    public List<Recipe> findMakeableRecipes(PantryManager pantryManager) {
+        Stock[] stock = readStock(pantryManager);
+        long[] inStock = new long[(stock.length + 63) >>> 6];
+        for (int keyId = 0; keyId < stock.length; keyId++) {
+            if (stock[keyId] != null) {
+                inStock[keyId >>> 6] |= 1L << keyId;
+            }
+        }
+        Stream<Recipe> stream = recipeStream();
+        return stream.filter(recipe -> isMakeable(statuses.get(recipe), inStock, stock))
+                .collect(Collectors.toList());
+    }
+    
+    // Returns true if every ingredient of the recipe is in stock and the stock covers its quantity. The bitset was
+    // built when the recipe was indexed, so ingredients added to the recipe since then are checked against the
+    // stock itself.
+    private static boolean isMakeable(RecipeStatus status, long[] inStock, Stock[] stock) {
+        long[] needed = status.ingredientBits;
+        for (int i = 0; i < needed.length; i++) {
+            if ((needed[i] & ~inStock[i]) != 0) {
+                return false;
+            }
+        }
+        Recipe recipe = status.recipe;
+        for (int i = 0; i < recipe.getIngredientCount(); i++) {
+            int ingredientId = recipe.getIngredientId(i);
+            Stock available = stock[IngredientCatalog.getKeyId(ingredientId)];
+            if (available == null || !available.covers(ingredientId, recipe.getQuantity(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Returns the k recipes with the fewest missing or short ingredients, best first. Ties go to the recipe that
+    // uses the soonest expiring pantry item.
+    public List<RecipeMatch> closestToCookable(PantryManager pantryManager, int k) {
+        return rank(pantryManager, k, null);
+    }
+    
+    // Returns the k recipes whose missing or short ingredients have the lowest total cost, best first. Ties go to
+    // the recipe that uses the soonest expiring pantry item.
+    public List<RecipeMatch> closestToCookable(PantryManager pantryManager, int k, ToLongFunction<Ingredient> cost) {
+        return rank(pantryManager, k, cost);
+    }
+    
+    // Streams the recipes through the bounded heap. A null cost counts each missing or short ingredient as 1
+    // without creating Ingredient objects.
+    private List<RecipeMatch> rank(PantryManager pantryManager, int k, ToLongFunction<Ingredient> cost) {
+        Stock[] stock = readStock(pantryManager);
+        List<RecipeMatch> result = new ArrayList<>();
+        if (k <= 0) {
+            return result;
+        }
+        PriorityQueue<Ranked> worstFirst = new PriorityQueue<>(k + 1, Ranked.BEST_FIRST.reversed());
+        int position = 0;
+        for (Recipe recipe : recipes.values()) {
+            long shortfall = 0;
+            long soonestExpiration = Long.MAX_VALUE;
+            for (int i = 0; i < recipe.getIngredientCount(); i++) {
+                int ingredientId = recipe.getIngredientId(i);
+                int quantity = recipe.getQuantity(i);
+                Stock available = stock[IngredientCatalog.getKeyId(ingredientId)];
+                if (available == null || !available.covers(ingredientId, quantity)) {
+                    shortfall += cost == null ? 1 : cost.applyAsLong(IngredientCatalog.materialize(ingredientId, quantity));
                 }
+                if (available != null) {
+                    soonestExpiration = Math.min(soonestExpiration, available.expirationDay);
+                }
+            }
+            Ranked ranked = new Ranked(recipe, shortfall, soonestExpiration, position++);
+            if (worstFirst.size() < k) {
+                worstFirst.add(ranked);
+            } else if (Ranked.BEST_FIRST.compare(ranked, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(ranked);
+            }
+        }
+        List<Ranked> best = new ArrayList<>(worstFirst);
+        best.sort(Ranked.BEST_FIRST);
+        for (Ranked ranked : best) {
+            result.add(match(ranked.recipe, stock));
+        }
+        return result;
+    }
+    
+    // Streams the recipes, in parallel once there are at least parallelThreshold of them. The map's own
+    // spliterator splits poorly, so the parallel stream runs over an array copy.
+    private Stream<Recipe> recipeStream() {
+        if (recipes.size() >= parallelThreshold) {
+            return new ArrayList<>(recipes.values()).parallelStream();
+        }
+        return recipes.values().stream();
+    }
+    
+    // Copies the quantity of the first pantry item per match key, as findMatch would return it, indexed by the
+    // catalog's key id. Pantry items no recipe ingredient can match are skipped. The live list is read directly:
+    // the copy is made before any matching starts, and taking a snapshot would make the next pantry write copy
+    // the whole list.
+    private static Stock[] readStock(PantryManager pantryManager) {
+        Stock[] stock = new Stock[IngredientCatalog.keyCount()];
+        for (PantryItem item : pantryManager.getItems()) {
+            int keyId = IngredientCatalog.findKeyId(item.getMatchKey());
+            if (keyId >= 0 && keyId < stock.length && stock[keyId] == null) {
+                stock[keyId] = new Stock(item);
+            }
+        }
+        return stock;
+    }
+    
+    // Matches one recipe against the copied pantry stock
+    private static RecipeMatch match(Recipe recipe, Stock[] stock) {
+        List<Ingredient> satisfied = new ArrayList<>();
+        List<Ingredient> missing = new ArrayList<>();
+        List<RecipeMatch.Shortage> shortages = new ArrayList<>();
+        for (int i = 0; i < recipe.getIngredientCount(); i++) {
+            int ingredientId = recipe.getIngredientId(i);
+            Ingredient ingredient = IngredientCatalog.materialize(ingredientId, recipe.getQuantity(i));
+            Stock available = stock[IngredientCatalog.getKeyId(ingredientId)];
+            if (available == null) {
+                missing.add(ingredient);
+            } else if (available.covers(ingredientId, ingredient.getQuantity())) {
+                satisfied.add(ingredient);
+            } else {
+                long shortBy = available.measure.isCompatible(ingredient.getMeasure())
+                        ? ingredient.getBaseQuantity() - available.baseQuantity
+                        : ingredient.getBaseQuantity();
+                shortages.add(new RecipeMatch.Shortage(ingredient, available.quantity, available.unit, shortBy));
+            }
+        }
+        return new RecipeMatch(recipe, satisfied, missing, shortages);
+    }
+    
+    // Prints which ingredients of each recipe the pantry covers
+    public void matchIngredientsWithPantry(PantryManager pantryManager) {
+        for (RecipeMatch match : matchAll(pantryManager)) {
+            System.out.println("Checking ingredients for: " + match.getRecipe().getName());
+            for (Ingredient ingredient : match.getSatisfied()) {
+                System.out.println("Available in pantry: " + ingredient.getName());
+            }
+            for (Ingredient ingredient : match.getMissing()) {
+                System.out.println("Not available in pantry for: " + ingredient.getName());
+            }
+            for (RecipeMatch.Shortage shortage : match.getShortages()) {
+                System.out.println("Insufficient quantity in pantry for: " + shortage);
             }
         }
     }
 }
-
-
@@ -0,0 +1,98 @@
+/*
+ * RecipeMatch Class
+ *
+ * This class is the result of matching one recipe against the pantry. It splits the recipe's ingredients into the
+ * ones the pantry covers, the ones it does not have at all, and the ones it has too little of, so callers can act
+ * on the result instead of parsing printed lines. Results are immutable.
+ */
+import java.util.Collections;
+import java.util.List;
+
+public class RecipeMatch {
+    private final Recipe recipe;
+    private final List<Ingredient> satisfied;
+    private final List<Ingredient> missing;
+    private final List<Shortage> shortages;
+
+    // An ingredient the pantry has, but not enough of or only in a unit that cannot be converted
+    public static class Shortage {
+        private final Ingredient ingredient;
+        private final int available;
+        private final String availableUnit;
+        private final long shortBy;
+
+        // Constructor. shortBy is in base units of the ingredient's dimension, see UnitRegistry.
+        public Shortage(Ingredient ingredient, int available, String availableUnit, long shortBy) {
+            this.ingredient = ingredient;
+            this.available = available;
+            this.availableUnit = availableUnit;
+            this.shortBy = shortBy;
+        }
+
+        // Returns the ingredient the recipe needs
+        public Ingredient getIngredient() {
+            return ingredient;
+        }
+
+        // Returns the quantity the pantry has, in availableUnit
+        public int getAvailable() {
+            return available;
+        }
+
+        // Returns the unit of the pantry's quantity
+        public String getAvailableUnit() {
+            return availableUnit;
+        }
+
+        // Returns how much more the recipe needs than the pantry has, in base units of the ingredient's dimension.
+        // This is the whole ingredient quantity if the pantry's unit is not compatible.
+        public long getShortBy() {
+            return shortBy;
+        }
+
+        @Override
+        public String toString() {
+            return ingredient.getName() + " (have " + available + " " + availableUnit + ", need "
+                    + ingredient.getQuantity() + " " + ingredient.getUnit() + ")";
+        }
+    }
+
+    // Constructor
+    public RecipeMatch(Recipe recipe, List<Ingredient> satisfied, List<Ingredient> missing, List<Shortage> shortages) {
+        this.recipe = recipe;
+        this.satisfied = Collections.unmodifiableList(satisfied);
+        this.missing = Collections.unmodifiableList(missing);
+        this.shortages = Collections.unmodifiableList(shortages);
+    }
+
+    // Returns the recipe that was matched
+    public Recipe getRecipe() {
+        return recipe;
+    }
+
+    // Returns the ingredients the pantry has in sufficient quantity
+    public List<Ingredient> getSatisfied() {
+        return satisfied;
+    }
+
+    // Returns the ingredients the pantry does not have
+    public List<Ingredient> getMissing() {
+        return missing;
+    }
+
+    // Returns the ingredients the pantry has too little of
+    public List<Shortage> getShortages() {
+        return shortages;
+    }
+
+    // Returns true if every ingredient is satisfied
+    public boolean isCookable() {
+        return missing.isEmpty() && shortages.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "RecipeMatch{recipe=" + recipe.getName() + ", satisfied=" + satisfied.size() + ", missing="
+                + missing.size() + ", short=" + shortages.size() + "}";
+    }
+}
@@ -0,0 +1,42 @@
+import java.time.LocalDate;
+
+public class ScaleTester {
+    private static final int ITEMS = 1_000_000;
+
+    public static void main(String[] args) {
+        // 1M updateItem calls: the first half appends new names, the second half replaces them
+        LinkedList<PantryItem> pantry = new LinkedList<>();
+        LocalDate expires = LocalDate.now().plusDays(7);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITEMS; i++) {
+            pantry.updateItem(new PantryItem("Item " + (i % (ITEMS / 2)), i, "Dry Goods", "g", expires));
+        }
+        long updateMillis = (System.nanoTime() - start) / 1_000_000;
+        check(pantry.size() == ITEMS / 2, "expected " + ITEMS / 2 + " items after updates, found " + pantry.size());
+        check(pantry.find("Item 0").getQuantity() == ITEMS / 2, "the second update of Item 0 was not applied");
+        System.out.println(ITEMS + " updateItem calls on a LinkedList: " + updateMillis + " ms");
+
+        // getLength on a 1M-node chain
+        Node head = new Node(new GroceryItem("Item 0", "Produce", 1, "Pieces"));
+        Node tail = head;
+        for (int i = 1; i < ITEMS; i++) {
+            Node next = new Node(tail.getItem());
+            tail.setNext(next);
+            tail = next;
+        }
+        start = System.nanoTime();
+        int length = head.getLength();
+        long lengthMillis = (System.nanoTime() - start) / 1_000_000;
+        check(length == ITEMS, "expected a chain of " + ITEMS + " nodes, getLength returned " + length);
+        System.out.println("getLength on a " + ITEMS + "-node chain: " + lengthMillis + " ms");
+
+        System.out.println("Scale checks passed.");
+    }
+
+    // Stops the run with a message if a check fails
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
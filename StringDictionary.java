@@ -0,0 +1,52 @@
+/*
+ * StringDictionary Class
+ *
+ * This class assigns dense int codes to strings, so columns of repeated values (names, categories, units) can be
+ * stored as int[] and turned back into strings on demand. Codes start at 0 and are never reused or removed.
+ *
+ * Approach:
+ * - A HashMap maps each distinct string to its code, and an array maps codes back to strings.
+ * - null is a valid value and gets a code like any other string.
+ */
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StringDictionary {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+    private int size;
+
+    // Returns the code for a value, assigning the next free code if the value is new
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1));
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    // Returns the code for a value, or -1 if the value was never encoded
+    public int find(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    // Returns the value for a code
+    public String lookup(int code) {
+        if (code < 0 || code >= size) {
+            throw new IndexOutOfBoundsException("Code: " + code + ", Size: " + size);
+        }
+        return values[code];
+    }
+
+    // Returns the number of distinct values
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * SymbolTable Class
+ *
+ * This class is a shared, canonicalizing pool for the small vocabularies used by items, such as categories
+ * ("Fruit", "Carbs") and units ("Kg", "Pieces"). Every equal string passed through canonical() comes back as the
+ * same instance, so items loaded from large CSV files share one String per category and unit instead of one per row,
+ * and two canonical values can be compared by reference.
+ *
+ * Approach:
+ * - A ConcurrentHashMap holds the first instance seen for each value; putIfAbsent keeps it safe to call from
+ *   several threads at once.
+ * - Item routes category and unit through canonical() in its constructor and setters, so every Item holds
+ *   canonical values without callers having to remember to intern them.
+ * - The pool only grows; it is meant for low-cardinality values, not for item names.
+ */
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public final class SymbolTable {
+    private static final ConcurrentMap<String, String> SYMBOLS = new ConcurrentHashMap<>();
+
+    private SymbolTable() {
+    }
+
+    // Returns the shared instance equal to value, registering value if it is new. null stays null.
+    public static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = SYMBOLS.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    // Returns the number of distinct symbols in the pool
+    public static int size() {
+        return SYMBOLS.size();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * UnitRegistry Class
+ *
+ * This class converts quantities in free-text units ("Kg", "grams", "cups", "Pieces") to one base unit per
+ * dimension, so a pantry holding 2 Kg of flour covers a recipe that needs 500 g. Items resolve their unit once,
+ * when they are created or their unit changes, and keep their quantity in base units, so matching compares longs.
+ *
+ * Approach:
+ * - Base quantities are fixed-point longs in thousandths of the base unit: milligrams for mass, microliters for
+ *   volume and thousandths of a piece for counts. Every factor is an integer, so conversion is one multiplication.
+ * - Unit text is trimmed and lower-cased before lookup, and a trailing period is dropped ("lbs." -> "lbs").
+ * - An empty or null unit counts pieces. An unknown unit becomes its own dimension with factor SCALE, so two
+ *   items in the same unknown unit still compare by quantity, but never against any other unit.
+ * - Resolved units are cached in a ConcurrentHashMap, so lookups are safe from any thread.
+ */
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class UnitRegistry {
+    // Number of base-quantity steps in one base unit
+    public static final long SCALE = 1000;
+
+    public static final String MASS = "mass";
+    public static final String VOLUME = "volume";
+    public static final String COUNT = "count";
+
+    private static final Map<String, Unit> UNITS = new ConcurrentHashMap<>();
+
+    static {
+        register(MASS, 1, "mg", "milligram", "milligrams");
+        register(MASS, 1_000, "g", "gr", "gram", "grams");
+        register(MASS, 1_000_000, "kg", "kgs", "kilo", "kilos", "kilogram", "kilograms");
+        register(MASS, 28_350, "oz", "ounce", "ounces");
+        register(MASS, 453_592, "lb", "lbs", "pound", "pounds");
+        register(VOLUME, 1_000, "ml", "milliliter", "milliliters", "millilitre", "millilitres");
+        register(VOLUME, 1_000_000, "l", "liter", "liters", "litre", "litres");
+        register(VOLUME, 4_929, "tsp", "teaspoon", "teaspoons");
+        register(VOLUME, 14_787, "tbsp", "tablespoon", "tablespoons");
+        register(VOLUME, 29_574, "fl oz", "fluid ounce", "fluid ounces");
+        register(VOLUME, 236_588, "cup", "cups");
+        register(VOLUME, 473_176, "pt", "pint", "pints");
+        register(VOLUME, 946_353, "qt", "quart", "quarts");
+        register(VOLUME, 3_785_412, "gal", "gallon", "gallons");
+        register(COUNT, SCALE, "", "pc", "pcs", "piece", "pieces", "unit", "units", "each", "ea", "item", "items");
+        register(COUNT, 12 * SCALE, "dozen", "dozens");
+    }
+
+    // A resolved unit: its dimension and how many base-quantity steps one of it is
+    public static final class Unit {
+        private final String symbol;
+        private final String dimension;
+        private final long factor;
+
+        private Unit(String symbol, String dimension, long factor) {
+            this.symbol = symbol;
+            this.dimension = dimension;
+            this.factor = factor;
+        }
+
+        // Returns the canonical name of the unit, the same for all its spellings ("kilograms" -> "kg")
+        public String getSymbol() {
+            return symbol;
+        }
+
+        // Returns the dimension, e.g. MASS, or the unit text itself for unknown units
+        public String getDimension() {
+            return dimension;
+        }
+
+        // Returns true if quantities in the two units can be compared
+        public boolean isCompatible(Unit other) {
+            return dimension.equals(other.dimension);
+        }
+
+        // Converts a quantity in this unit to base-quantity steps
+        public long toBase(long quantity) {
+            return quantity * factor;
+        }
+
+        // Converts base-quantity steps to whole units of this unit, rounding up
+        public int fromBase(long base) {
+            return (int) ((base + factor - 1) / factor);
+        }
+
+        @Override
+        public String toString() {
+            return "Unit{symbol=" + symbol + ", dimension=" + dimension + ", factor=" + factor + "}";
+        }
+    }
+
+    private UnitRegistry() {
+    }
+
+    // Registers unit names for one dimension; the first name is the unit's symbol. factor is the number of
+    // base-quantity steps in one unit.
+    public static void register(String dimension, long factor, String... names) {
+        Unit unit = new Unit(normalize(names[0]), dimension, factor);
+        for (String name : names) {
+            UNITS.put(normalize(name), unit);
+        }
+    }
+
+    // Returns the unit for a unit text, creating a dimension of its own for unknown units
+    public static Unit lookup(String unit) {
+        String key = normalize(unit);
+        return UNITS.computeIfAbsent(key, text -> new Unit(text, text, SCALE));
+    }
+
+    // Lower-cases a unit text and drops surrounding spaces and a trailing period
+    private static String normalize(String unit) {
+        if (unit == null) {
+            return "";
+        }
+        String key = unit.trim().toLowerCase(Locale.ROOT);
+        return key.endsWith(".") ? key.substring(0, key.length() - 1).trim() : key;
+    }
+}